@@ -0,0 +1,95 @@
+package Benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Main.Highscores;
+
+/**
+ * Measures adding a score to a level's highscores, both a score that goes to
+ * the top (and has to be written) and one that is too low to get in. The
+ * tables are kept in a temporary folder so the game's highscores are never
+ * touched
+ * @author Raya and Connor
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighscoresBenchmark
+{
+	private static final int NUM_LEVELS = 20;
+	private static final int LEVEL = 1;
+
+	private File folder;
+	private Highscores highscores;
+	private int score;
+
+	/**
+	 * Makes empty tables in a temporary folder and reads them
+	 * @throws IOException if the folder could not be made
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		folder = Files.createTempDirectory("highscores").toFile();
+		new File(folder, "Highscores.hs").createNewFile();
+		for (int level = 1; level <= NUM_LEVELS; level++)
+		{
+			new File(folder, "Level" + level + ".hs").createNewFile();
+		}
+		highscores = new Highscores(NUM_LEVELS, folder.getPath());
+	}
+
+	/**
+	 * Writes what is left and deletes the temporary folder
+	 */
+	@TearDown
+	public void tearDown()
+	{
+		highscores.flush();
+		for (File file : folder.listFiles())
+		{
+			file.delete();
+		}
+		folder.delete();
+	}
+
+	/**
+	 * Adds a score higher than any before it
+	 * @return the place the score was put in
+	 */
+	@Benchmark
+	public int updateLevelHighScoreTop()
+	{
+		score++;
+		return highscores.updateLevelHighScore("Player", score, 100, LEVEL);
+	}
+
+	/**
+	 * Adds a score too low to get into the table
+	 * @return the place the score was put in (always -1)
+	 */
+	@Benchmark
+	public int updateLevelHighScoreMiss()
+	{
+		return highscores.updateLevelHighScore("Player", 0, 1000, LEVEL);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import TileMap.LevelPack;
+import TileMap.TileMap;
+
+/**
+ * Measures loading each level the game ships with from the level pack into a
+ * tile map (the map, treasures, doors and obstacles). The tiles aren't loaded,
+ * just like when a level is loaded for a simulation
+ * @author Raya and Connor
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelLoadBenchmark
+{
+	@Param({ "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12",
+			"13", "14", "15", "16", "17", "18", "19", "20" })
+	public int level;
+
+	private LevelPack pack;
+	private TileMap tileMap;
+
+	/**
+	 * Opens the level pack
+	 * @throws IOException if the level pack could not be read
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		pack = LevelPack.getDefault();
+		tileMap = new TileMap(32);
+	}
+
+	/**
+	 * Loads the level
+	 * @return the tile map the level was loaded into
+	 * @throws IOException if the level could not be read
+	 */
+	@Benchmark
+	public TileMap loadMap() throws IOException
+	{
+		tileMap.loadMap(pack.getLevel(level));
+		return tileMap;
+	}
+}
\ No newline at end of file
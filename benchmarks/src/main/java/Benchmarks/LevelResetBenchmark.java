@@ -0,0 +1,60 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Simulation.Simulation;
+
+/**
+ * Measures resetting a level (what happens every time a player dies or R is
+ * pressed). The level state resets through its simulation, which puts the
+ * players, treasures and obstacles back from the level's snapshot
+ * @author Raya and Connor
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelResetBenchmark
+{
+	@Param({ "1", "10", "20" })
+	public int level;
+
+	private Simulation simulation;
+
+	/**
+	 * Loads the level
+	 * @throws IOException if the level could not be loaded
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		simulation = new Simulation(level);
+	}
+
+	/**
+	 * Resets the level
+	 * @return the simulation that was reset
+	 */
+	@Benchmark
+	public Simulation reset()
+	{
+		simulation.reset();
+		return simulation;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Player.Player;
+import Player.PlayerState;
+import Simulation.Simulation;
+
+/**
+ * Measures the collision checks each player makes every tick. The grill is run
+ * right and jumping for a moment first so it is checked while moving through
+ * the air rather than standing still. Checking collisions moves the player, so
+ * it is put back into the same state before each check (which is included in
+ * the time)
+ * @author Raya and Connor
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark
+{
+	// Ticks the grill is moved for before it is measured
+	private static final int TICKS = 20;
+
+	@Param({ "1", "10", "20" })
+	public int level;
+
+	private Player grill;
+	private PlayerState state;
+	private double x, y;
+
+	/**
+	 * Loads the level and moves the grill into the air
+	 * @throws IOException if the level could not be loaded
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		Simulation simulation = new Simulation(level);
+		for (int tick = 0; tick < TICKS; tick++)
+		{
+			simulation.step(Simulation.GRILL_RIGHT | Simulation.GRILL_JUMP);
+		}
+		grill = simulation.getGrill();
+		state = grill.saveState();
+		x = grill.getX();
+		y = grill.getY();
+	}
+
+	/**
+	 * Checks the tiles around the grill
+	 * @return if the grill is dead
+	 */
+	@Benchmark
+	public boolean calculateCorners()
+	{
+		return grill.calculateCorners(x, y);
+	}
+
+	/**
+	 * Checks the grill's tile and laser collisions
+	 * @return the grill's y coordinate after the check
+	 */
+	@Benchmark
+	public int checkCollision()
+	{
+		grill.restoreState(state);
+		grill.checkCollision();
+		return grill.getY();
+	}
+}
\ No newline at end of file
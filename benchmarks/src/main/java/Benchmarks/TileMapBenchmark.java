@@ -0,0 +1,121 @@
+package Benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Main.Assets;
+import Main.GamePanel;
+import TileMap.LevelPack;
+import TileMap.Sprites;
+import TileMap.TileMap;
+
+/**
+ * Measures looking up tile types (done many times a tick for each player) and
+ * drawing the whole tile map with its treasures, obstacles and doors into an
+ * image the size of the screen
+ * @author Raya and Connor
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileMapBenchmark
+{
+	// Tiles looked up for each call of getType (including the blocked tiles
+	// just outside the map)
+	private static final int LOOKUPS = 1024;
+
+	@Param({ "1", "10", "20" })
+	public int level;
+
+	private TileMap tileMap;
+	private final int[] rows = new int[LOOKUPS];
+	private final int[] columns = new int[LOOKUPS];
+
+	private BufferedImage image;
+	private Graphics2D g;
+
+	/**
+	 * Loads the level with its tiles and sprites and picks the tiles to look
+	 * up
+	 * @throws IOException if the level or its images could not be loaded
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		Sprites.load();
+		tileMap = new TileMap(32);
+		tileMap.loadTiles("/Tilesets/GrassTileSet.png");
+		tileMap.loadMap(LevelPack.getDefault().getLevel(level));
+		tileMap.setPosition(0, 0);
+
+		Random random = new Random(level);
+		for (int lookup = 0; lookup < LOOKUPS; lookup++)
+		{
+			rows[lookup] = random.nextInt(tileMap.getNumRows() + 2) - 1;
+			columns[lookup] = random.nextInt(tileMap.getNumColumns() + 2) - 1;
+		}
+
+		image = Assets.createImage(GamePanel.WIDTH, GamePanel.HEIGHT,
+				Transparency.OPAQUE);
+		g = image.createGraphics();
+	}
+
+	/**
+	 * Lets go of the graphics
+	 */
+	@TearDown
+	public void tearDown()
+	{
+		g.dispose();
+	}
+
+	/**
+	 * Looks up the type of each picked tile
+	 * @return the sum of the types (so the lookups aren't thrown away)
+	 */
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public int getType()
+	{
+		int sum = 0;
+		for (int lookup = 0; lookup < LOOKUPS; lookup++)
+		{
+			sum += tileMap.getType(rows[lookup], columns[lookup]);
+		}
+		return sum;
+	}
+
+	/**
+	 * Draws the tile map
+	 * @return the image drawn into
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public BufferedImage draw()
+	{
+		tileMap.draw(g);
+		return image;
+	}
+}
\ No newline at end of file
@@ -5,20 +5,22 @@ import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
 import Main.GamePanel;
 
 /**
  * A state that displays a congratulations message and the credits after the
  * player beats all of the levels
  * @author Raya
- * @version 1
+ * @version 3
  */
 public class CongratsState extends GameState
 {
 	BufferedImage image;
 
+	// Congratulations screen image
+	private static final String CONGRATS_SCREEN = "/Menu/CongratsScreen.png";
+
 	/**
 	 * The constructor. Gets the GameStateManager that is being used and runs
 	 * the init method
@@ -31,13 +33,22 @@ public class CongratsState extends GameState
 		init();
 	}
 
+	/**
+	 * Loads the congratulations screen into the asset cache without making
+	 * the state, so changing to it later doesn't have to wait for it
+	 * @throws IOException if the image isn't found
+	 */
+	static void loadAssets() throws IOException
+	{
+		Assets.getImage(CONGRATS_SCREEN);
+	}
+
 	/**
 	 * Initializes the state by loading the congratulations screen
 	 */
 	public void init() throws IOException
 	{
-		image = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/CongratsScreen.png"));
+		image = Assets.getImage(CONGRATS_SCREEN);
 	}
 
 	/**
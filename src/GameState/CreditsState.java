@@ -5,21 +5,23 @@ import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
 import Main.GamePanel;
 
 /**
  * A state in the game where the user finds out who made the game and other
  * exciting adventures of the like
  * @author Connor
- * @version 2
+ * @version 4
  */
 public class CreditsState extends GameState
 {
 	private GameStateManager gsm;
 	private BufferedImage creditsScreen;
 
+	// Credits screen image
+	private static final String CREDITS_SCREEN = "/Menu/Credits.png";
+
 	/**
 	 * Creates a new credits state to be used in the GameStateManager
 	 * @param gsm a reference to the GameStateManager
@@ -31,6 +33,16 @@ public class CreditsState extends GameState
 		init();
 	}
 
+	/**
+	 * Loads the credits screen image into the asset cache without making the
+	 * state, so changing to it later doesn't have to wait for it
+	 * @throws IOException if the image does not load properly
+	 */
+	static void loadAssets() throws IOException
+	{
+		Assets.getImage(CREDITS_SCREEN);
+	}
+
 	/**
 	 * Loads the credits screen image and makes sure the mouse isn't clicked so
 	 * the user can take a nice long view of the credits instead of immediately
@@ -39,8 +51,7 @@ public class CreditsState extends GameState
 	 */
 	public void init() throws IOException
 	{
-		creditsScreen = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Credits.png"));
+		creditsScreen = Assets.getImage(CREDITS_SCREEN);
 		GamePanel.mouse.unPress();
 	}
 
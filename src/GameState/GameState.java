@@ -3,6 +3,8 @@ package GameState;
 import java.awt.Graphics2D;
 import java.io.IOException;
 
+import Main.DirtyRegions;
+
 /**
  * An abstract class used to define what a game state is and has
  * @author Raya
@@ -30,6 +32,19 @@ public abstract class GameState
 	 */
 	public abstract void draw(Graphics2D g);
 
+	/**
+	 * Draws the parts of the game state that changed since the last frame and
+	 * adds them to the dirty regions. Unless a state overrides this the whole
+	 * screen is drawn every frame
+	 * @param g The graphics to draw with
+	 * @param dirty The regions of the screen that need to be drawn again
+	 */
+	public void draw(Graphics2D g, DirtyRegions dirty)
+	{
+		dirty.addAll();
+		draw(g);
+	}
+
 	/**
 	 * Checks for key pressed events
 	 * @param key The keycode of the key being pressed
@@ -2,48 +2,65 @@ package GameState;
 
 import java.awt.Graphics2D;
 import java.io.IOException;
-import java.util.ArrayList;
+
+import Main.DirtyRegions;
 
 /**
  * The GameStateManager manages the various states of the game. Each state is
  * kept in an array and is used when various sub classes call this class'
  * setState method. The GameStateManager only updates and draws the current
- * state
+ * state. States are only made the first time they are needed, so the menu
+ * can be shown without loading a level first. The other states' images and
+ * fonts can be warmed up one state at a time while the game has nothing else
+ * to do (without making the states, since making one runs its init), and the
+ * level state is let go once the game leaves it since a new one is made for
+ * every level
  * @author Raya and Connor
- * @version 9
+ * @version 14
  */
 public class GameStateManager
 {
-	private ArrayList<GameState> gameStates;
+	private GameState[] gameStates;
 	private static int currentState;
+	private GameState lastDrawnState;
 	public static final int MENU_STATE = 0;
 	public static final int LEVEL_STATE = 1;
 	public static final int INSTRUCTION_STATE = 2;
 	public static final int CREDITS_STATE = 3;
 	public static final int LEVEL_SELECT_STATE = 4;
 	public static final int CONGRATS_STATE = 5;
+	private static final int NUM_STATES = 6;
+
+	// States whose assets are loaded while warming up (in order). The level
+	// state isn't warmed up since it is made again for every level
+	private static final int[] WARM_UP = { LEVEL_SELECT_STATE,
+			INSTRUCTION_STATE, CREDITS_STATE, CONGRATS_STATE };
+	private int warmedUp;
+
+	// Level used the next time the level state is made
+	private int level;
+
+	// Loads the next level while the end of a level is shown
+	private final LevelPrefetcher prefetcher = new LevelPrefetcher();
 
 	/**
-	 * Loads all the game states and passes them a copy of this GameStateManager
+	 * Makes the menu state and remembers the level to use for the LevelState.
+	 * The other states are made when they are first needed
 	 * @param level the level file used for the LevelState
-	 * @throws IOException if a state fails to be added to the array of game
-	 *             states
+	 * @throws IOException if the menu state could not be loaded
 	 */
 	public GameStateManager(int level) throws IOException
 	{
-		gameStates = new ArrayList<GameState>();
+		gameStates = new GameState[NUM_STATES];
+		this.level = level;
 		currentState = MENU_STATE;
-		gameStates.add(new MenuState(this));
-		gameStates.add(new LevelState(this, level));
-		gameStates.add(new InstructionState(this));
-		gameStates.add(new CreditsState(this));
-		gameStates.add(new LevelSelectState(this));
-		gameStates.add(new CongratsState(this));
-
+		gameStates[MENU_STATE] = create(MENU_STATE);
 	}
 
 	/**
-	 * Changes the current game state to the given one
+	 * Changes the current game state to the given one. A state that hasn't
+	 * been made yet is made (which initializes it), otherwise it is
+	 * initialized again. Leaving the level state lets it go
 	 * @param state the given state
 	 * @throws IOException if the GameStateManager could not change the state
 	 *             properly
@@ -54,14 +71,110 @@ public class GameStateManager
 	{
 		if (state >= 0 && state <= 5)
 		{
+			if (currentState == LEVEL_STATE && state != LEVEL_STATE)
+			{
+				// The next level isn't going to be played either
+				gameStates[LEVEL_STATE] = null;
+				prefetcher.cancel();
+			}
+
 			currentState = state;
-			gameStates.get(currentState).init();
+			if (gameStates[currentState] == null)
+			{
+				gameStates[currentState] = create(currentState);
+			}
+			else
+			{
+				gameStates[currentState].init();
+			}
 		}
 		else
 			throw new IllegalArgumentException(
 					"type must be a defined GameState (0 - 5)");
 	}
 
+	/**
+	 * Loads the images and fonts of the next state that hasn't been made yet
+	 * so changing to it later doesn't have to wait for them. The state itself
+	 * isn't made, so nothing it does in init (like clearing a mouse press)
+	 * happens while another state is showing. Meant to be called when the
+	 * game has time to spare
+	 * @return if there are more states to warm up
+	 * @throws IOException if the state's assets could not be loaded
+	 */
+	public boolean warmUp() throws IOException
+	{
+		while (warmedUp < WARM_UP.length)
+		{
+			int state = WARM_UP[warmedUp++];
+			if (gameStates[state] == null)
+			{
+				loadAssets(state);
+				return warmedUp < WARM_UP.length;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Starts loading a level on a worker thread so changing to it later
+	 * doesn't have to wait for it to load
+	 * @param level the level to load
+	 */
+	public void prefetchLevel(int level)
+	{
+		prefetcher.prefetch(level);
+	}
+
+	/**
+	 * Loads the images and fonts a state uses without making it
+	 * @param state the state
+	 * @throws IOException if the state's assets could not be loaded
+	 */
+	private void loadAssets(int state) throws IOException
+	{
+		switch (state)
+		{
+		case INSTRUCTION_STATE:
+			InstructionState.loadAssets();
+			break;
+		case CREDITS_STATE:
+			CreditsState.loadAssets();
+			break;
+		case LEVEL_SELECT_STATE:
+			LevelSelectState.loadAssets();
+			break;
+		case CONGRATS_STATE:
+			CongratsState.loadAssets();
+			break;
+		}
+	}
+
+	/**
+	 * Makes a state
+	 * @param state the state to make
+	 * @return the new state
+	 * @throws IOException if the state could not be loaded
+	 */
+	private GameState create(int state) throws IOException
+	{
+		switch (state)
+		{
+		case MENU_STATE:
+			return new MenuState(this);
+		case LEVEL_STATE:
+			return new LevelState(this, level, prefetcher.take(level));
+		case INSTRUCTION_STATE:
+			return new InstructionState(this);
+		case CREDITS_STATE:
+			return new CreditsState(this);
+		case LEVEL_SELECT_STATE:
+			return new LevelSelectState(this);
+		default:
+			return new CongratsState(this);
+		}
+	}
+
 	/**
 	 * Returns the numerical value of the current state which is also that
 	 * state's index in the array of game states
@@ -74,15 +187,24 @@ public class GameStateManager
 
 	/**
 	 * Removes the old level state to be replaced by the new level state using
-	 * the specified level
+	 * the specified level. The new level state is made straight away if the
+	 * game is in the level state and otherwise when the game changes to it
 	 * @param level the level to change to
 	 * @throws IOException if the GameState could not change or load the state
 	 *             properly
 	 */
 	public void setLevel(int level) throws IOException
 	{
-		gameStates.add(LEVEL_STATE, new LevelState(this, level));
-		gameStates.remove(LEVEL_STATE + 1);
+		this.level = level;
+		if (currentState == LEVEL_STATE)
+		{
+			gameStates[LEVEL_STATE] = create(LEVEL_STATE);
+		}
+		else
+		{
+			// Made when the level state is changed to
+			gameStates[LEVEL_STATE] = null;
+		}
 	}
 
 	/**
@@ -92,7 +214,7 @@ public class GameStateManager
 	 */
 	public void update() throws IOException
 	{
-		gameStates.get(currentState).update();
+		gameStates[currentState].update();
 	}
 
 	/**
@@ -101,7 +223,24 @@ public class GameStateManager
 	 */
 	public void draw(Graphics2D g)
 	{
-		gameStates.get(currentState).draw(g);
+		gameStates[currentState].draw(g);
+	}
+
+	/**
+	 * Draws the parts of the current state that changed since the last frame.
+	 * Everything is drawn when the state has changed since the last frame
+	 * @param g the graphics to draw with
+	 * @param dirty the regions of the screen that need to be drawn again
+	 */
+	public void draw(Graphics2D g, DirtyRegions dirty)
+	{
+		GameState state = gameStates[currentState];
+		if (state != lastDrawnState)
+		{
+			dirty.addAll();
+			lastDrawnState = state;
+		}
+		state.draw(g, dirty);
 	}
 
 	/**
@@ -111,7 +250,7 @@ public class GameStateManager
 	 */
 	public void keyPressed(int key) throws IOException
 	{
-		gameStates.get(currentState).keyPressed(key);
+		gameStates[currentState].keyPressed(key);
 	}
 
 	/**
@@ -121,6 +260,6 @@ public class GameStateManager
 	 */
 	public void keyReleased(int key)
 	{
-		gameStates.get(currentState).keyReleased(key);
+		gameStates[currentState].keyReleased(key);
 	}
 }
\ No newline at end of file
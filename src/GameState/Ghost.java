@@ -0,0 +1,205 @@
+package GameState;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import Main.DirtyRegions;
+import Player.Player;
+import Simulation.Replay;
+import Simulation.Simulation;
+import Simulation.SimulationState;
+
+/**
+ * A ghost plays back the best recorded run of a level next to the players.
+ * It runs the replay through its own simulation one tick each time the level
+ * runs one, so it keeps pace with the players. The simulation is the same
+ * physics-only one the level uses, without images or a listener, so a ghost
+ * tick costs about as much as updating the players. The ghost's buoy and
+ * grill are drawn see-through with the same images as the real ones. The
+ * ghost starts again whenever the level is reset
+ * @author Raya and Connor
+ * @version 1
+ */
+final class Ghost
+{
+	// How the ghost is drawn
+	private static final Composite TRANSLUCENT = AlphaComposite.getInstance(
+			AlphaComposite.SRC_OVER, 0.4f);
+
+	// Run being played back
+	private final Replay replay;
+	private final Simulation simulation;
+	private final SimulationState start;
+	private int tick;
+	private boolean done;
+
+	// Where the ghost's players were last drawn
+	private final Rectangle buoyBounds = new Rectangle();
+	private final Rectangle grillBounds = new Rectangle();
+	private final Rectangle bounds = new Rectangle();
+
+	/**
+	 * Makes a ghost of a replay
+	 * @param replay the replay to play back
+	 * @param buoyImage the image the buoy is drawn with
+	 * @param grillImage the image the grill is drawn with
+	 * @throws IOException if the replay's level could not be loaded
+	 */
+	private Ghost(Replay replay, BufferedImage buoyImage,
+			BufferedImage grillImage) throws IOException
+	{
+		this.replay = replay;
+		simulation = new Simulation(replay.getLevel());
+		simulation.getBuoy().setImage(buoyImage);
+		simulation.getGrill().setImage(grillImage);
+		start = simulation.saveState();
+	}
+
+	/**
+	 * Loads the ghost of a level's best run
+	 * @param file the file the best run's replay is saved in
+	 * @param level the level being played
+	 * @param buoyImage the image the buoy is drawn with
+	 * @param grillImage the image the grill is drawn with
+	 * @return the ghost or null if the level has no best run that can be read
+	 */
+	static Ghost load(File file, int level, BufferedImage buoyImage,
+			BufferedImage grillImage)
+	{
+		if (!file.exists())
+		{
+			return null;
+		}
+
+		try
+		{
+			Replay replay;
+			InputStream in = new FileInputStream(file);
+			try
+			{
+				replay = Replay.read(in);
+			}
+			finally
+			{
+				in.close();
+			}
+
+			if (replay.getLevel() != level)
+			{
+				return null;
+			}
+			return new Ghost(replay, buoyImage, grillImage);
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Starts the run again from the beginning of the level
+	 */
+	void restart()
+	{
+		simulation.restoreState(start);
+		tick = 0;
+		done = false;
+	}
+
+	/**
+	 * Runs the next tick of the replay. Ticks where the level was paused are
+	 * skipped. Once the replay runs out (or the run finishes) the ghost is
+	 * gone until it is restarted
+	 */
+	void step()
+	{
+		while (tick < replay.getLength()
+				&& (replay.getInput(tick) & Replay.PAUSED) != 0)
+		{
+			tick++;
+		}
+		if (tick == replay.getLength() || simulation.isFinished())
+		{
+			done = true;
+			return;
+		}
+
+		simulation.step(replay.getInput(tick));
+		tick++;
+	}
+
+	/**
+	 * Adds the parts of the screen the ghost's players moved out of and into
+	 * since the last frame
+	 * @param interpolation how far between the last tick and the next tick
+	 *            the game is
+	 * @param dirty the regions of the screen that need to be drawn again
+	 */
+	void addBounds(double interpolation, DirtyRegions dirty)
+	{
+		addBounds(simulation.getBuoy(), buoyBounds, interpolation, dirty);
+		addBounds(simulation.getGrill(), grillBounds, interpolation, dirty);
+	}
+
+	/**
+	 * Adds where a player was drawn and where it is drawn now if it moved
+	 * @param player the player
+	 * @param drawn where the player was drawn last frame
+	 * @param interpolation how far between the last tick and the next tick
+	 *            the game is
+	 * @param dirty the regions of the screen that need to be drawn again
+	 */
+	private void addBounds(Player player, Rectangle drawn,
+			double interpolation, DirtyRegions dirty)
+	{
+		if (done)
+		{
+			bounds.setBounds(0, 0, 0, 0);
+		}
+		else
+		{
+			player.getDrawBounds(interpolation, bounds);
+		}
+
+		if (!bounds.equals(drawn))
+		{
+			if (!drawn.isEmpty())
+			{
+				dirty.add(drawn);
+			}
+			if (!bounds.isEmpty())
+			{
+				dirty.add(bounds);
+			}
+			drawn.setBounds(bounds);
+		}
+	}
+
+	/**
+	 * Draws the ghost's players see-through
+	 * @param g the graphics to draw with
+	 * @param interpolation how far between the last tick and the next tick
+	 *            the game is
+	 */
+	void draw(Graphics2D g, double interpolation)
+	{
+		if (done)
+		{
+			return;
+		}
+
+		Composite composite = g.getComposite();
+		g.setComposite(TRANSLUCENT);
+		simulation.getBuoy().draw(g, interpolation);
+		simulation.getGrill().draw(g, interpolation);
+		g.setComposite(composite);
+	}
+}
\ No newline at end of file
@@ -5,8 +5,7 @@ import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
 import Main.GamePanel;
 
 /**
@@ -21,6 +20,16 @@ public class InstructionState extends GameState
 	private BufferedImage currentScreen;
 	public static int page;
 
+	// Instruction screen images (one for each page)
+	private static final String[] PAGES = {
+			"/Menu/Instructions/Instructions 1.png",
+			"/Menu/Instructions/Instructions 2.png",
+			"/Menu/Instructions/Instructions 3.png",
+			"/Menu/Instructions/Instructions 4.png",
+			"/Menu/Instructions/Instructions 5.png",
+			"/Menu/Instructions/Instructions 6.png",
+			"/Menu/Instructions/Instructions 7.png" };
+
 	/**
 	 * Creates a new instructions state to be used in the GameStateManager
 	 * @param gsm a reference to the GameStateManager
@@ -32,6 +41,19 @@ public class InstructionState extends GameState
 		init();
 	}
 
+	/**
+	 * Loads the instruction screen images into the asset cache without making
+	 * the state, so changing to it later doesn't have to wait for them
+	 * @throws IOException if the images could not be loaded properly
+	 */
+	static void loadAssets() throws IOException
+	{
+		for (int aPage = 0; aPage < PAGES.length; aPage++)
+		{
+			Assets.getImage(PAGES[aPage]);
+		}
+	}
+
 	/**
 	 * Loads the instructional images to be used in instructions in the
 	 * instructions screen ... INSTRUCTIONS Also initializes some variables
@@ -39,22 +61,12 @@ public class InstructionState extends GameState
 	 */
 	public void init() throws IOException
 	{
-		instructions = new BufferedImage[7];
+		instructions = new BufferedImage[PAGES.length];
 		// Load Instruction screen images
-		instructions[0] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 1.png"));
-		instructions[1] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 2.png"));
-		instructions[2] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 3.png"));
-		instructions[3] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 4.png"));
-		instructions[4] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 5.png"));
-		instructions[5] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 6.png"));
-		instructions[6] = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/Instructions/Instructions 7.png"));
+		for (int aPage = 0; aPage < PAGES.length; aPage++)
+		{
+			instructions[aPage] = Assets.getImage(PAGES[aPage]);
+		}
 
 		page = 0;
 		currentScreen = instructions[page];
@@ -0,0 +1,103 @@
+package GameState;
+
+import Main.HighscoreTable;
+
+/**
+ * A leaderboard is the text drawn for a highscore table. The names, scores
+ * and times are turned into text once and only made again when the table's
+ * version changes, so drawing the scores every frame doesn't make any new
+ * strings
+ * @author Raya and Connor
+ * @version 1
+ */
+final class Leaderboard
+{
+	// Longest name drawn
+	private static final int MAX_NAME_LENGTH = 9;
+
+	// Table
+	private final HighscoreTable table;
+	private int version = -1;
+
+	// Text for each place
+	private final String[] names;
+	private final String[] scores;
+	private final String[] times;
+
+	/**
+	 * Makes a leaderboard for a table
+	 * @param table the highscore table
+	 */
+	Leaderboard(HighscoreTable table)
+	{
+		this.table = table;
+		names = new String[table.getPlaces()];
+		scores = new String[table.getPlaces()];
+		times = new String[table.getPlaces()];
+	}
+
+	/**
+	 * Makes the text again if the table has changed since it was last made
+	 */
+	void update()
+	{
+		synchronized (table)
+		{
+			if (table.getVersion() == version)
+			{
+				return;
+			}
+			version = table.getVersion();
+
+			for (int place = 0; place < names.length; place++)
+			{
+				names[place] = table.getName(place).replace('_', ' ');
+				if (names[place].length() > MAX_NAME_LENGTH)
+				{
+					names[place] = names[place].substring(0, 8);
+				}
+				scores[place] = String.valueOf(table.getScore(place));
+				times[place] = String.valueOf(table.getTime(place));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of places on the leaderboard
+	 * @return the number of places on the leaderboard
+	 */
+	int getPlaces()
+	{
+		return names.length;
+	}
+
+	/**
+	 * Returns the name to draw for a place
+	 * @param place the place (0 is the highest)
+	 * @return the name to draw
+	 */
+	String getName(int place)
+	{
+		return names[place];
+	}
+
+	/**
+	 * Returns the score to draw for a place
+	 * @param place the place (0 is the highest)
+	 * @return the score to draw
+	 */
+	String getScore(int place)
+	{
+		return scores[place];
+	}
+
+	/**
+	 * Returns the time to draw for a place
+	 * @param place the place (0 is the highest)
+	 * @return the time to draw
+	 */
+	String getTime(int place)
+	{
+		return times[place];
+	}
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package GameState;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The level prefetcher loads a level on a worker thread before it is needed.
+ * It is started when a level is finished so the next level's map, entities,
+ * baked tile layer and ghost are ready by the time the player picks "Next
+ * Level". Only one level is prefetched at a time, always on the same worker
+ * thread. A prefetched level that isn't going to be played is let go
+ * straight away
+ * @author Raya and Connor
+ * @version 3
+ */
+final class LevelPrefetcher
+{
+	// Thread levels are loaded on (made once and kept while the game runs)
+	private static final ExecutorService LOADER = Executors
+			.newSingleThreadExecutor(new ThreadFactory()
+			{
+				public Thread newThread(Runnable runnable)
+				{
+					Thread loader = new Thread(runnable, "Level prefetcher");
+					loader.setDaemon(true);
+					return loader;
+				}
+			});
+
+	// Level being prefetched and the task loading it
+	private int level;
+	private FutureTask<LoadedLevel> task;
+
+	/**
+	 * Starts loading a level on a worker thread unless it is already being
+	 * loaded
+	 * @param level the level to load
+	 */
+	void prefetch(final int level)
+	{
+		if (task != null && this.level == level)
+		{
+			return;
+		}
+
+		cancel();
+		this.level = level;
+		task = new FutureTask<LoadedLevel>(new Callable<LoadedLevel>()
+		{
+			public LoadedLevel call() throws IOException
+			{
+				return LevelState.loadLevel(level);
+			}
+		});
+		LOADER.execute(task);
+	}
+
+	/**
+	 * Lets go of the prefetched level (stopping it if it is still waiting to
+	 * be loaded) so its map and tile layer aren't kept while they aren't
+	 * needed
+	 */
+	void cancel()
+	{
+		if (task != null)
+		{
+			task.cancel(false);
+			task = null;
+		}
+	}
+
+	/**
+	 * Takes the prefetched level, waiting for it if it is still loading. A
+	 * different level that was prefetched is let go
+	 * @param level the level wanted
+	 * @return the loaded level or null if a different level (or none) was
+	 *         prefetched or it failed to load
+	 */
+	LoadedLevel take(int level)
+	{
+		if (task == null || this.level != level)
+		{
+			cancel();
+			return null;
+		}
+
+		FutureTask<LoadedLevel> taken = task;
+		task = null;
+		try
+		{
+			return taken.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		catch (ExecutionException e)
+		{
+			// Load it normally instead
+			e.getCause().printStackTrace();
+			return null;
+		}
+	}
+}
\ No newline at end of file
@@ -4,20 +4,18 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.awt.Graphics2D;
-import java.awt.GraphicsEnvironment;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
 import Main.GamePanel;
 
 /**
  * This state is accessed through the main menu and is used to select which
  * level the user would like to play.
  * @author Connor and Raya
- * @version 7
+ * @version 9
  */
 public class LevelSelectState extends GameState
 {
@@ -38,16 +36,35 @@ public class LevelSelectState extends GameState
 		init();
 	}
 
+	/**
+	 * Loads the background and button images and the fonts into the asset
+	 * cache without making the state, so changing to it later doesn't have to
+	 * wait for them. If the font can't be used init falls back to Arial
+	 * @throws IOException if an image could not be loaded
+	 */
+	static void loadAssets() throws IOException
+	{
+		Assets.getImage("/Menu/MenuScreen.png");
+		Assets.getImage("/Menu/LevelSelectButton.png");
+		try
+		{
+			Assets.getFont(Assets.RING_BEARER, Font.BOLD, 52);
+			Assets.getFont(Assets.RING_BEARER, Font.BOLD, 50);
+		}
+		catch (FontFormatException e)
+		{
+			// Reported when the state is made
+		}
+	}
+
 	/**
 	 * Initializes the state by loading the fonts, background and button images
 	 * and initializing the levelsCompleted array
 	 */
 	public void init() throws IOException
 	{
-		bg = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/MenuScreen.png"));
-		button = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/LevelSelectButton.png"));
+		bg = Assets.getImage("/Menu/MenuScreen.png");
+		button = Assets.getImage("/Menu/LevelSelectButton.png");
 
 		levelsCompleted = GamePanel.levelsCompleted;
 		currentLevel = 0;
@@ -55,13 +72,8 @@ public class LevelSelectState extends GameState
 		// Try to use the ringbearer font for the menu options
 		try
 		{
-			GraphicsEnvironment ge =
-					GraphicsEnvironment.getLocalGraphicsEnvironment();
-			ge.registerFont(Font.createFont(Font.TRUETYPE_FONT, getClass()
-					.getResourceAsStream("/Fonts/RINGBEARER.TTF")));
-
-			shadowFont = new Font("RingBearer", Font.BOLD, 52);
-			font = new Font("RingBearer", Font.BOLD, 50);
+			shadowFont = Assets.getFont(Assets.RING_BEARER, Font.BOLD, 52);
+			font = Assets.getFont(Assets.RING_BEARER, Font.BOLD, 50);
 		}
 		catch (IOException | FontFormatException e)
 		{
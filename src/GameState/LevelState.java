@@ -4,53 +4,81 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.awt.Graphics2D;
-import java.awt.GraphicsEnvironment;
-import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
+import Main.DirtyRegions;
 import Main.GamePanel;
+import Main.Highscores;
 import Player.Player;
+import Profiling.LevelLoadEvent;
+import Profiling.LevelResetEvent;
+import Profiling.PlayerDeathEvent;
+import Simulation.Replay;
+import Simulation.ReplayRecorder;
+import Simulation.Simulation;
+import Simulation.SimulationListener;
+import TileMap.Button;
+import TileMap.Door;
+import TileMap.Sprites;
+import TileMap.Switch;
 import TileMap.TileMap;
 import TileMap.Treasure;
 
 /**
- * The level state is the main state the player is in. It runs the level which
- * involves tasks such as checking collisions, updating player positions and
- * drawing.
+ * The level state is the main state the player is in. It runs the level's
+ * simulation one tick at a time from the keys the user is pressing and draws
+ * it along with the HUD and menus. Loading the level, resets and deaths are
+ * recorded as events when Java Flight Recorder is running. The keys for every
+ * tick are recorded and saved as a replay of the last playthrough of each
+ * level when it is finished or left from the pause menu. A run that makes it
+ * to the top of the level's highscores is also kept as the level's best run,
+ * which is played as a ghost next to the players the next time
  * @author Raya and Connor
- * @version 29
+ * @version 40
  */
-public class LevelState extends GameState
+public class LevelState extends GameState implements SimulationListener
 {
+	// Simulation (checks collisions and updates player positions)
+	private Simulation simulation;
+
 	// Tilemap
-	private static TileMap tileMap;
+	private TileMap tileMap;
 
 	// Player
-	private static Player grill;
-	private static Player buoy;
-	private static Point buoyStart, grillStart;
+	private Player grill;
+	private Player buoy;
+
+	// Keys (as Simulation inputs). Jumping and resetting are only given to
+	// the simulation for the tick after they are pressed
+	private int heldKeys, pressedKeys;
+
+	// Why the level is about to be reset (null when it is the reset key)
+	private String resetCause;
+
+	// Replay of the playthrough
+	private static final String REPLAY_FOLDER = "Replays";
+	private ReplayRecorder recorder;
+
+	// Ghost of the best run of the level (null if there isn't one)
+	private Ghost ghost;
 
 	// Background
 	private BufferedImage bg;
 
-	private static int level;
+	private int level;
 
 	// hud
 	private Font hudFont;
 	private BufferedImage redDiamondEmpty, redDiamondFull;
 	private BufferedImage blueDiamondEmpty, blueDiamondFull;
 	private long levelTime, pauseStartTime, pauseEndTime;
-	private static boolean redDiamond, blueDiamond;
-	private static long totalPauseTime;
-	private static long time;
-	private static int levelScore;
+	private long totalPauseTime;
+	private long time;
 
 	// menu screen
 	private boolean end, paused, pauseTimeStarted;
@@ -61,6 +89,19 @@ public class LevelState extends GameState
 	private Font font, shadowFont;
 	private boolean drawScores;
 	private boolean updateScores;
+	private Leaderboard leaderboard;
+
+	// Dirty regions (the parts of the screen that need to be drawn again)
+	private boolean repaintAll;
+	private DirtyRegions changes;
+	private Rectangle buoyBounds, grillBounds, playerBounds;
+	private boolean menuDrawn;
+	private int drawnScore;
+	private long drawnTime;
+	private boolean drawnRedDiamond, drawnBlueDiamond;
+	private final Rectangle SCORE_AREA = new Rectangle(0, 0, 300, 70);
+	private final Rectangle TIME_AREA = new Rectangle(500, 0, 300, 70);
+	private final Rectangle DIAMOND_AREA = new Rectangle(900, 20, 96, 36);
 
 	// menus
 	private final int END = 0;
@@ -79,51 +120,110 @@ public class LevelState extends GameState
 	 * @throws IOException if calls in init() do not load properly
 	 */
 	public LevelState(GameStateManager gsm, int level) throws IOException
+	{
+		this(gsm, level, null);
+	}
+
+	/**
+	 * Makes a level state from a level that has already been loaded (see
+	 * LevelPrefetcher)
+	 * @param gsm a reference to the GameStateManager
+	 * @param level the level
+	 * @param loaded the level loaded by loadLevel or null to load it now
+	 * @throws IOException if the level could not be loaded
+	 */
+	LevelState(GameStateManager gsm, int level, LoadedLevel loaded)
+			throws IOException
 	{
 		this.gsm = gsm;
-		LevelState.level = level;
-		init();
+		this.level = level;
+		if (loaded != null)
+		{
+			start(loaded);
+		}
+		else
+		{
+			init();
+		}
 	}
 
 	/**
-	 * Initializes the level by loading the images and placing Buttons,
-	 * Switches, Treasures, Tiles and Players where they need to go based on the
-	 * .lvl file
+	 * Loads a level's map, obstacles, treasures and players along with the
+	 * images they are drawn with, and the ghost of the level's best run. It
+	 * doesn't touch any level state so it can be run on another thread
+	 * @param level the level to load
+	 * @return the loaded level
+	 * @throws IOException if the level or its images could not be loaded
 	 */
-	public void init() throws IOException
+	static LoadedLevel loadLevel(int level) throws IOException
 	{
-		System.out.println("load");
-		bg = ImageIO.read(getClass().getResourceAsStream(
-				"/Backgrounds/CastleBackground.png"));
+		LevelLoadEvent event = new LevelLoadEvent();
+		event.begin();
+		Simulation simulation = new Simulation(level);
 
-		tileMap = new TileMap(32);
+		// Load the images the simulation doesn't need
+		Sprites.load();
+		TileMap tileMap = simulation.getTileMap();
 		tileMap.loadTiles("/Tilesets/GrassTileSet.png");
-		tileMap.loadMap("/Levels/Level" + level + ".lvl");
 		tileMap.setPosition(0, 0);
 
-		buoyStart = tileMap.getBuoyStart();
-		grillStart = tileMap.getGrillStart();
+		BufferedImage buoyImage = Assets.getImage("/Players/Buoy.png");
+		BufferedImage grillImage = Assets.getImage("/Players/Grill.png");
+		simulation.getBuoy().setImage(buoyImage);
+		simulation.getGrill().setImage(grillImage);
 
-		redDiamond = false;
-		blueDiamond = false;
+		// The ghost runs its own simulation of the level
+		Ghost ghost = null;
+		if (GamePanel.getHighScores() != null)
+		{
+			ghost = Ghost.load(GamePanel.getHighScores().getBestReplayFile(
+					level), level, buoyImage, grillImage);
+		}
 
-		buoy = new Player(tileMap, "/Players/Buoy.png", 28, 28, Player.BUOY);
-		buoy.setPosition(buoyStart.x, buoyStart.y);
+		if (event.shouldCommit())
+		{
+			event.level = level;
+			event.commit();
+		}
+		return new LoadedLevel(simulation, ghost);
+	}
 
-		grill = new Player(tileMap, "/Players/Grill.png", 28, 28,
-				Player.GRILL);
-		grill.setPosition(grillStart.x, grillStart.y);
+	/**
+	 * Initializes the level by loading the images and placing Buttons,
+	 * Switches, Treasures, Tiles and Players where they need to go based on the
+	 * .lvl file
+	 */
+	public void init() throws IOException
+	{
+		start(loadLevel(level));
+	}
+
+	/**
+	 * Starts playing a loaded level from the beginning
+	 * @param loaded the level loaded by loadLevel
+	 * @throws IOException if the images could not be loaded
+	 */
+	private void start(LoadedLevel loaded) throws IOException
+	{
+		System.out.println("load");
+		bg = Assets.getImage("/Backgrounds/CastleBackground.png");
+
+		simulation = loaded.simulation;
+		simulation.setListener(this);
+		heldKeys = 0;
+		pressedKeys = 0;
+		resetCause = null;
+		recorder = new ReplayRecorder(level);
+		ghost = loaded.ghost;
+
+		tileMap = simulation.getTileMap();
+		buoy = simulation.getBuoy();
+		grill = simulation.getGrill();
 
 		// Load the font
 		try
 		{
-			GraphicsEnvironment ge =
-					GraphicsEnvironment.getLocalGraphicsEnvironment();
-			ge.registerFont(Font.createFont(Font.TRUETYPE_FONT, getClass()
-					.getResourceAsStream(
-							"/Fonts/MICKEY.TTF")));
-
-			hudFont = new Font("Mickey", Font.BOLD, 50);
+			hudFont = Assets.getFont(Assets.MICKEY, Font.BOLD, 50);
 		}
 		catch (IOException | FontFormatException e)
 		{
@@ -132,18 +232,13 @@ public class LevelState extends GameState
 		}
 
 		// Load the diamonds
-		redDiamondEmpty = ImageIO.read(getClass().getResourceAsStream(
-				"/Items/hudGemRedEmpty.png"));
-		blueDiamondEmpty = ImageIO.read(getClass().getResourceAsStream(
-				"/Items/hudGemBlueEmpty.png"));
-		redDiamondFull = ImageIO.read(getClass().getResourceAsStream(
-				"/Items/hudGemRedFull.png"));
-		blueDiamondFull = ImageIO.read(getClass().getResourceAsStream(
-				"/Items/hudGemBlueFull.png"));
+		redDiamondEmpty = Assets.getImage("/Items/hudGemRedEmpty.png");
+		blueDiamondEmpty = Assets.getImage("/Items/hudGemBlueEmpty.png");
+		redDiamondFull = Assets.getImage("/Items/hudGemRedFull.png");
+		blueDiamondFull = Assets.getImage("/Items/hudGemBlueFull.png");
 
 		// Load pause/end level screen
-		menuScreen = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/MenuScreen.png"));
+		menuScreen = Assets.getImage("/Menu/MenuScreen.png");
 
 		// Reset variables
 		time = System.currentTimeMillis();
@@ -151,7 +246,6 @@ public class LevelState extends GameState
 		pauseEndTime = 0;
 		totalPauseTime = 0;
 		levelTime = 0;
-		levelScore = 0;
 		end = false;
 		paused = false;
 		pauseTimeStarted = false;
@@ -161,14 +255,8 @@ public class LevelState extends GameState
 		// Try to use the ringbearer font for the menu options
 		try
 		{
-			GraphicsEnvironment ge =
-					GraphicsEnvironment.getLocalGraphicsEnvironment();
-			ge.registerFont(Font.createFont(Font.TRUETYPE_FONT, getClass()
-					.getResourceAsStream(
-							"/Fonts/RINGBEARER.TTF")));
-
-			font = new Font("RingBearer", Font.BOLD, 35);
-			shadowFont = new Font("RingBearer", Font.BOLD, 37);
+			font = Assets.getFont(Assets.RING_BEARER, Font.BOLD, 35);
+			shadowFont = Assets.getFont(Assets.RING_BEARER, Font.BOLD, 37);
 		}
 		catch (IOException | FontFormatException e)
 		{
@@ -179,6 +267,12 @@ public class LevelState extends GameState
 
 		drawScores = true;
 		updateScores = true;
+
+		changes = new DirtyRegions();
+		buoyBounds = new Rectangle();
+		grillBounds = new Rectangle();
+		playerBounds = new Rectangle();
+		repaintAll = true;
 	}
 
 	/**
@@ -194,7 +288,7 @@ public class LevelState extends GameState
 			if (currentChoice == NEXT_LEVEL)
 			{
 				drawScores = false;
-				GamePanel.endLevel(level, levelScore, (int) levelTime);
+				GamePanel.endLevel(level, simulation.getScore(), (int) levelTime);
 				pauseTimeStarted = false;
 			}
 			else if (currentChoice == MAIN_MENU)
@@ -217,6 +311,7 @@ public class LevelState extends GameState
 			}
 			else if (currentChoice == MAIN_MENU)
 			{
+				saveReplay(lastReplayFile());
 				gsm.setState(GameStateManager.MENU_STATE);
 			}
 			else if (currentChoice == QUIT)
@@ -227,99 +322,139 @@ public class LevelState extends GameState
 	}
 
 	/**
-	 * Resets the level to what it was like when the level started
-	 * @throws IOException if the tile map could not reload properly
+	 * Returns the file the replay of the last playthrough of the level is
+	 * saved in
+	 * @return the file the last replay of the level is saved in
 	 */
-	public static void reset() throws IOException
+	private File lastReplayFile()
 	{
-		buoy.setPosition(buoyStart.getX(), buoyStart.getY());
-		grill.setPosition(grillStart.getX(), grillStart.getY());
-		levelScore = 0;
-		redDiamond = false;
-		blueDiamond = false;
-
-		// Clear previous treasures and obstacles
-		TileMap.treasures.clear();
-		TileMap.buttons.clear();
-		TileMap.switches.clear();
-
-		tileMap.loadMap("/Levels/Level" + level + ".lvl");
-		tileMap.setPosition(0, 0);
+		return new File(REPLAY_FOLDER, "Level" + level + ".rpl");
 	}
 
 	/**
-	 * Updates the level by changing player positions, checking for obstacle and
-	 * treasure collisions and incrementing time and score
-	 * @throws IOException if an I/O exception of some sort has occurred
+	 * Saves a replay of the playthrough so far. It is written later by the
+	 * highscores' writer thread so the game doesn't wait for the disk
+	 * @param file the file to save the replay in
 	 */
-	public void update() throws IOException
+	private void saveReplay(File file)
 	{
-		if (!end && !paused)
+		Highscores highscores = GamePanel.getHighScores();
+		if (highscores != null)
 		{
-			// Update buoy and grill
-			buoy.update();
-			tileMap.setPosition(buoy.getX(), buoy.getY());
+			highscores.writeLater(file, recorder.finish(simulation)
+					.toByteArray());
+		}
+	}
 
-			grill.update();
-			tileMap.setPosition(grill.getX(), grill.getY());
+	/**
+	 * Remembers that a player died so the reset that follows is put down to
+	 * it
+	 * @param player the player that died
+	 */
+	public void playerDied(Player player)
+	{
+		resetCause = player == buoy ? LevelResetEvent.BUOY_DIED
+				: LevelResetEvent.GRILL_DIED;
 
-			// Check for collisions
-			// Check for collisions with switches
-			for (int aSwitch = 0; aSwitch < TileMap.switches.size(); aSwitch++)
-			{
-				TileMap.switches.get(aSwitch).update(buoy.getX(), buoy.getY(),
-						grill.getX(), grill.getY());
+		PlayerDeathEvent event = new PlayerDeathEvent();
+		if (event.shouldCommit())
+		{
+			event.level = level;
+			event.player = player == buoy ? "Buoy" : "Grill";
+			event.x = player.getX();
+			event.y = player.getY();
+			event.commit();
+		}
+	}
 
-			}
+	/**
+	 * Draws everything again after the level is reset
+	 */
+	public void levelReset()
+	{
+		repaintAll = true;
+		if (ghost != null)
+		{
+			ghost.restart();
+		}
 
-			// /Check for collisions with buttons
-			for (int aButton = 0; aButton < TileMap.buttons.size(); aButton++)
-			{
-				TileMap.buttons.get(aButton).update(buoy.getX(), buoy.getY(),
-						grill.getX(), grill.getY());
-			}
+		LevelResetEvent event = new LevelResetEvent();
+		if (event.shouldCommit())
+		{
+			event.level = level;
+			event.cause = resetCause == null ? LevelResetEvent.RESET_KEY
+					: resetCause;
+			event.commit();
+		}
+		resetCause = null;
+	}
 
-			// Check for collisions with doors
-			TileMap.blueDoor.update(buoy.getX(), buoy.getY());
-			TileMap.redDoor.update(grill.getX(), grill.getY());
+	/**
+	 * Draws a switch again after it changes
+	 * @param theSwitch the switch that changed
+	 */
+	public void switchChanged(Switch theSwitch)
+	{
+		theSwitch.addBounds(changes);
+	}
 
-			// Check for collisions with treasures
-			for (int aTreasure = 0; aTreasure < TileMap.treasures.size(); aTreasure++)
+	/**
+	 * Draws a button again after it changes
+	 * @param button the button that changed
+	 */
+	public void buttonChanged(Button button)
+	{
+		button.addBounds(changes);
+	}
+
+	/**
+	 * Draws a door again after it opens or closes
+	 * @param door the door that changed
+	 */
+	public void doorChanged(Door door)
+	{
+		door.addBounds(changes);
+	}
+
+	/**
+	 * Draws over a treasure after it is taken
+	 * @param treasure the treasure that was taken
+	 * @param player the player that took it
+	 */
+	public void treasureTaken(Treasure treasure, Player player)
+	{
+		treasure.addBounds(changes);
+	}
+
+	/**
+	 * Updates the level by running a tick of the simulation with the keys
+	 * being pressed and incrementing time
+	 * @throws IOException if an I/O exception of some sort has occurred
+	 */
+	public void update() throws IOException
+	{
+		if (!end && !paused)
+		{
+			// Update the players, obstacles, treasures and score
+			int input = heldKeys | pressedKeys;
+			recorder.record(input);
+			simulation.step(input);
+			pressedKeys = 0;
+			if (ghost != null)
 			{
-				Treasure treasure = TileMap.treasures.get(aTreasure);
-				if (treasure.contains(buoy.getX(), buoy.getY()))
-				{
-					// Buoy got a treasure
-					if (buoy.canTake(treasure.getType()))
-					{
-						levelScore += treasure.take();
-						if (treasure.isDiamond())
-						{
-							blueDiamond = true;
-						}
-					}
-				}
-				if (treasure.contains(grill.getX(), grill.getY()))
-				{
-					// Grill got a treasure
-					if (grill.canTake(treasure.getType()))
-					{
-						levelScore += treasure.take();
-						if (treasure.isDiamond())
-						{
-							redDiamond = true;
-						}
-					}
-				}
+				ghost.step();
 			}
 
 			// Check for the end of the level (when both players are in front of
-			// their respective doors)
+			// their respective doors). The next level starts loading while the
+			// end screen is shown
+			end = simulation.isFinished();
+			if (end)
 			{
-				if (TileMap.redDoor.isOpen() && TileMap.blueDoor.isOpen())
+				saveReplay(lastReplayFile());
+				if (level < GamePanel.TOTAL_LEVELS)
 				{
-					// end the level
-					end = true;
+					gsm.prefetchLevel(level + 1);
 				}
 			}
 
@@ -328,6 +463,8 @@ public class LevelState extends GameState
 		}
 		else if (paused)
 		{
+			recorder.record(Replay.PAUSED);
+
 			// Check options
 			if (GamePanel.mouse.isInArea())
 			{
@@ -355,7 +492,13 @@ public class LevelState extends GameState
 			if (updateScores)
 			{
 				drawScores = false;
-				GamePanel.updateLevelStats(level, levelScore, (int) levelTime);
+				int place = GamePanel.updateLevelStats(level,
+						simulation.getScore(), (int) levelTime);
+				if (place == 0)
+				{
+					saveReplay(GamePanel.getHighScores().getBestReplayFile(
+							level));
+				}
 				drawScores = true;
 				updateScores = false;
 			}
@@ -377,11 +520,103 @@ public class LevelState extends GameState
 			}
 			else
 			{
-				GamePanel.endLevel(level, levelScore, (int) levelTime);
+				GamePanel.endLevel(level, simulation.getScore(), (int) levelTime);
+			}
+		}
+	}
+
+	/**
+	 * Finds the parts of the level that changed since the last frame (the
+	 * players, taken treasures, switched lasers, doors and HUD) and draws only
+	 * those parts. Everything is drawn when the level starts, resets or a menu
+	 * is showing
+	 * @param g the graphics to draw with
+	 * @param dirty the regions of the screen that need to be drawn again
+	 */
+	public void draw(Graphics2D g, DirtyRegions dirty)
+	{
+		if (repaintAll || end || paused || menuDrawn)
+		{
+			dirty.addAll();
+		}
+		repaintAll = false;
+		menuDrawn = end || paused;
+
+		// Obstacles and treasures that changed while updating
+		dirty.add(changes);
+		changes.clear();
+
+		// Draw the players where they are now and where they were last frame
+		double interpolation = getInterpolation();
+		buoy.getDrawBounds(interpolation, playerBounds);
+		if (!playerBounds.equals(buoyBounds))
+		{
+			dirty.add(buoyBounds);
+			dirty.add(playerBounds);
+			buoyBounds.setBounds(playerBounds);
+		}
+		grill.getDrawBounds(interpolation, playerBounds);
+		if (!playerBounds.equals(grillBounds))
+		{
+			dirty.add(grillBounds);
+			dirty.add(playerBounds);
+			grillBounds.setBounds(playerBounds);
+		}
+		if (ghost != null)
+		{
+			ghost.addBounds(interpolation, dirty);
+		}
+
+		// HUD
+		if (simulation.getScore() != drawnScore)
+		{
+			dirty.add(SCORE_AREA);
+			drawnScore = simulation.getScore();
+		}
+		if (levelTime != drawnTime)
+		{
+			dirty.add(TIME_AREA);
+			drawnTime = levelTime;
+		}
+		if (simulation.hasRedDiamond() != drawnRedDiamond
+				|| simulation.hasBlueDiamond() != drawnBlueDiamond)
+		{
+			dirty.add(DIAMOND_AREA);
+			drawnRedDiamond = simulation.hasRedDiamond();
+			drawnBlueDiamond = simulation.hasBlueDiamond();
+		}
+
+		if (dirty.isAll())
+		{
+			draw(g);
+		}
+		else
+		{
+			// Draw the level once for each region. Anything outside of the
+			// region is skipped by the graphics
+			for (int region = 0; region < dirty.size(); region++)
+			{
+				g.setClip(dirty.get(region));
+				draw(g);
 			}
+			g.setClip(null);
 		}
 	}
 
+	/**
+	 * Returns how far between ticks the players should be drawn. The players
+	 * don't move while the level is paused or over so they are drawn where
+	 * they are
+	 * @return how far between ticks the players should be drawn
+	 */
+	private double getInterpolation()
+	{
+		if (end || paused)
+			return 1;
+		else
+			return GamePanel.getInterpolation();
+	}
+
 	/**
 	 * Draws everything in the level including players, backgrounds, tiles,
 	 * obstacles, treasures and HUD
@@ -396,8 +631,13 @@ public class LevelState extends GameState
 		tileMap.draw(g);
 
 		// Draw player
-		buoy.draw(g);
-		grill.draw(g);
+		double interpolation = getInterpolation();
+		if (ghost != null)
+		{
+			ghost.draw(g, interpolation);
+		}
+		buoy.draw(g, interpolation);
+		grill.draw(g, interpolation);
 
 		// Draw items
 		/*
@@ -408,14 +648,14 @@ public class LevelState extends GameState
 		// Draw the score
 		g.setFont(hudFont);
 		g.setColor(Color.WHITE);
-		g.drawString(String.valueOf(levelScore), 10, 50);
+		g.drawString(String.valueOf(simulation.getScore()), 10, 50);
 
 		// Draw the diamonds
-		if (redDiamond)
+		if (simulation.hasRedDiamond())
 			g.drawImage(redDiamondFull, 950, 20, null);
 		else
 			g.drawImage(redDiamondEmpty, 950, 20, null);
-		if (blueDiamond)
+		if (simulation.hasBlueDiamond())
 			g.drawImage(blueDiamondFull, 900, 20, null);
 		else
 			g.drawImage(blueDiamondEmpty, 900, 20, null);
@@ -435,8 +675,8 @@ public class LevelState extends GameState
 			g.drawString(String.format("%-12s%4d", "Level Time:", levelTime),
 					250,
 					160);
-			g.drawString(String.format("%-12s%5d", "Level Score:", levelScore),
-					207, 240);
+			g.drawString(String.format("%-12s%5d", "Level Score:",
+					simulation.getScore()), 207, 240);
 
 			// Draw menu options
 			for (int index = 0; index < options[END].length; index++)
@@ -462,51 +702,24 @@ public class LevelState extends GameState
 			// Draw high scores
 			if (drawScores)
 			{
-				String[] names = new String[3];
-				int[] scores = new int[3];
-				int[] times = new int[3];
-
-				BufferedReader scoreReader = null;
-				try
-				{
-					scoreReader = new BufferedReader(new FileReader(
-							"Highscores/Level" + level + ".hs"));
-				}
-				catch (FileNotFoundException e)
-				{
-					e.printStackTrace();
-				}
-
-				for (int player = 0; player < 3; player++)
+				if (leaderboard == null)
 				{
-					String line = null;
-					try
-					{
-						line = scoreReader.readLine();
-					}
-					catch (IOException e)
-					{
-						e.printStackTrace();
-					}
-					names[player] = line.split(" ")[0].replace('_', ' ');
-					if (names[player].length() > 9)
-					{
-						names[player] = names[player].substring(0, 8);
-					}
-					scores[player] = Integer.parseInt(line.split(" ")[1]);
-					times[player] = Integer.parseInt(line.split(" ")[2]);
+					leaderboard = new Leaderboard(GamePanel.getHighScores()
+							.getLevelHighScores(level));
 				}
+				leaderboard.update();
 				g.setFont(shadowFont);
 				g.setColor(Color.BLACK);
 				g.drawString("Highscores", 396, 300);
 
 				for (int highScore = 0; highScore < 3; highScore++)
 				{
-					g.drawString(names[highScore], 150 + (275 * highScore), 350);
-					g.drawString(String.valueOf(scores[highScore]),
+					g.drawString(leaderboard.getName(highScore),
+							150 + (275 * highScore), 350);
+					g.drawString(leaderboard.getScore(highScore),
 							150 + (275 * highScore),
 							382);
-					g.drawString(String.valueOf(times[highScore]),
+					g.drawString(leaderboard.getTime(highScore),
 							240 + (275 * highScore),
 							382);
 				}
@@ -517,11 +730,12 @@ public class LevelState extends GameState
 				g.drawString("Highscores", 400, 300);
 				for (int highScore = 0; highScore < 3; highScore++)
 				{
-					g.drawString(names[highScore], 154 + (275 * highScore), 350);
-					g.drawString(String.valueOf(scores[highScore]),
+					g.drawString(leaderboard.getName(highScore),
+							154 + (275 * highScore), 350);
+					g.drawString(leaderboard.getScore(highScore),
 							154 + (275 * highScore),
 							382);
-					g.drawString(String.valueOf(times[highScore]),
+					g.drawString(leaderboard.getTime(highScore),
 							242 + (275 * highScore),
 							382);
 				}
@@ -538,8 +752,8 @@ public class LevelState extends GameState
 			g.drawString(String.format("%-12s%4d", "Level Time:", levelTime),
 					250,
 					160);
-			g.drawString(String.format("%-12s%5d", "Level Score:", levelScore),
-					207, 240);
+			g.drawString(String.format("%-12s%5d", "Level Score:",
+					simulation.getScore()), 207, 240);
 
 			// Draw menu options
 			for (int index = 0; index < options[PAUSE].length; index++)
@@ -567,7 +781,8 @@ public class LevelState extends GameState
 
 	/**
 	 * Processes events based on the keys pressed. WAD moves the grill and up,
-	 * left and right arrow keys move the buoy. R resets the level
+	 * left and right arrow keys move the buoy. R resets the level. The keys are
+	 * given to the simulation on the next tick
 	 * @param key the key pressed
 	 * @throws IOException if the level could not be reset properly
 	 */
@@ -577,37 +792,37 @@ public class LevelState extends GameState
 		{
 			if (key == KeyEvent.VK_LEFT)
 			{
-				buoy.setLeft(true);
+				heldKeys |= Simulation.BUOY_LEFT;
 			}
 
 			if (key == KeyEvent.VK_RIGHT)
 			{
-				buoy.setRight(true);
+				heldKeys |= Simulation.BUOY_RIGHT;
 			}
 
 			if (key == KeyEvent.VK_UP)
 			{
-				buoy.setJumping(true);
+				pressedKeys |= Simulation.BUOY_JUMP;
 			}
 
 			if (key == KeyEvent.VK_A)
 			{
-				grill.setLeft(true);
+				heldKeys |= Simulation.GRILL_LEFT;
 			}
 
 			if (key == KeyEvent.VK_D)
 			{
-				grill.setRight(true);
+				heldKeys |= Simulation.GRILL_RIGHT;
 			}
 
 			if (key == KeyEvent.VK_W)
 			{
-				grill.setJumping(true);
+				pressedKeys |= Simulation.GRILL_JUMP;
 			}
 
 			if (key == KeyEvent.VK_R)
 			{
-				reset();
+				pressedKeys |= Simulation.RESET;
 			}
 
 			if (key == KeyEvent.VK_P)
@@ -662,22 +877,22 @@ public class LevelState extends GameState
 	{
 		if (key == KeyEvent.VK_LEFT)
 		{
-			buoy.setLeft(false);
+			heldKeys &= ~Simulation.BUOY_LEFT;
 		}
 
 		if (key == KeyEvent.VK_RIGHT)
 		{
-			buoy.setRight(false);
+			heldKeys &= ~Simulation.BUOY_RIGHT;
 		}
 
 		if (key == KeyEvent.VK_A)
 		{
-			grill.setLeft(false);
+			heldKeys &= ~Simulation.GRILL_LEFT;
 		}
 
 		if (key == KeyEvent.VK_D)
 		{
-			grill.setRight(false);
+			heldKeys &= ~Simulation.GRILL_RIGHT;
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package GameState;
+
+import Simulation.Simulation;
+
+/**
+ * A loaded level is everything LevelState.loadLevel loads before a level can
+ * start: the level's simulation with its images and the ghost of the level's
+ * best run. Both are made together so they can be loaded on another thread
+ * (see LevelPrefetcher)
+ * @author Raya and Connor
+ * @version 1
+ */
+final class LoadedLevel
+{
+	// Level and the ghost of its best run (null if there isn't one)
+	final Simulation simulation;
+	final Ghost ghost;
+
+	/**
+	 * Keeps a loaded level
+	 * @param simulation the level's simulation
+	 * @param ghost the ghost of the level's best run or null
+	 */
+	LoadedLevel(Simulation simulation, Ghost ghost)
+	{
+		this.simulation = simulation;
+		this.ghost = ghost;
+	}
+}
\ No newline at end of file
@@ -4,20 +4,18 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.awt.Graphics2D;
-import java.awt.GraphicsEnvironment;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
 import Main.GamePanel;
 
 /**
  * A state the user first sees when launching the game. There are options to
  * start the game, read instructions, see credits and quit the game
  * @author Raya and Connor
- * @version 11
+ * @version 12
  */
 public class MenuState extends GameState
 {
@@ -55,8 +53,7 @@ public class MenuState extends GameState
 	 */
 	public void init() throws IOException
 	{
-		menuScreen = ImageIO.read(getClass().getResourceAsStream(
-				"/Menu/MenuScreen.png"));
+		menuScreen = Assets.getImage("/Menu/MenuScreen.png");
 
 		titleColour = Color.ORANGE;
 		shadowColour = Color.GRAY;
@@ -64,16 +61,10 @@ public class MenuState extends GameState
 		// Try to use the ringbearer font for the title and menu options
 		try
 		{
-			GraphicsEnvironment ge =
-					GraphicsEnvironment.getLocalGraphicsEnvironment();
-			ge.registerFont(Font.createFont(Font.TRUETYPE_FONT, getClass()
-					.getResourceAsStream(
-							"/Fonts/RINGBEARER.TTF")));
-
-			titleFont = new Font("RingBearer", Font.PLAIN, 50);
-			titleShadowFont = new Font("RingBearer", Font.PLAIN, 52);
-			font = new Font("RingBearer", Font.BOLD, 50);
-			shadowFont = new Font("RingBearer", Font.BOLD, 52);
+			titleFont = Assets.getFont(Assets.RING_BEARER, Font.PLAIN, 50);
+			titleShadowFont = Assets.getFont(Assets.RING_BEARER, Font.PLAIN, 52);
+			font = Assets.getFont(Assets.RING_BEARER, Font.BOLD, 50);
+			shadowFont = Assets.getFont(Assets.RING_BEARER, Font.BOLD, 52);
 		}
 		catch (IOException | FontFormatException e)
 		{
@@ -0,0 +1,148 @@
+package Input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The input queue carries key and mouse events from the AWT event thread to
+ * the game thread. The event thread is the only thread that adds events and
+ * the game thread is the only one that takes them, so the queue is a ring
+ * buffer that needs no locks: each side only moves its own end and publishes
+ * it with one ordered write. Events are kept in arrays of numbers so adding
+ * and taking them never makes any objects. The game thread takes every event
+ * at the start of a tick, so input always changes the game between ticks and
+ * never in the middle of one
+ * @author Raya and Connor
+ * @version 2
+ */
+public final class InputQueue
+{
+	// Event types
+	public static final int KEY_PRESSED = 0;
+	public static final int KEY_RELEASED = 1;
+	public static final int MOUSE_PRESSED = 2;
+	public static final int MOUSE_RELEASED = 3;
+	public static final int MOUSE_MOVED = 4;
+
+	// Events held (a power of two so the ring can wrap with a mask). The game
+	// thread empties the queue 60 times a second, so it is never close to
+	// full. If it is, new events are dropped
+	private static final int CAPACITY = 1024;
+	private static final int MASK = CAPACITY - 1;
+
+	// Ring of events (the type and the key code or mouse coordinates)
+	private final int[] types = new int[CAPACITY];
+	private final int[] firsts = new int[CAPACITY];
+	private final int[] seconds = new int[CAPACITY];
+
+	// Next event to take (only moved by the game thread) and next place to
+	// add an event (only moved by the event thread)
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	// Event last taken
+	private int type, first, second;
+
+	/**
+	 * Adds a key event. Only called on the event thread
+	 * @param type KEY_PRESSED or KEY_RELEASED
+	 * @param keyCode the key's code (like KeyEvent.VK_LEFT)
+	 * @return if the event was added (false if the queue is full)
+	 */
+	public boolean addKey(int type, int keyCode)
+	{
+		return add(type, keyCode, 0);
+	}
+
+	/**
+	 * Adds a mouse event. Only called on the event thread
+	 * @param type MOUSE_PRESSED, MOUSE_RELEASED or MOUSE_MOVED
+	 * @param x the x coordinate of the mouse
+	 * @param y the y coordinate of the mouse
+	 * @return if the event was added (false if the queue is full)
+	 */
+	public boolean addMouse(int type, int x, int y)
+	{
+		return add(type, x, y);
+	}
+
+	/**
+	 * Adds an event to the tail of the queue
+	 * @param type the type of event
+	 * @param first the key code or x coordinate
+	 * @param second the y coordinate (0 for keys)
+	 * @return if the event was added (false if the queue is full)
+	 */
+	private boolean add(int type, int first, int second)
+	{
+		long next = tail.get();
+		if (next - head.get() == CAPACITY)
+		{
+			return false;
+		}
+
+		int slot = (int) (next & MASK);
+		types[slot] = type;
+		firsts[slot] = first;
+		seconds[slot] = second;
+		tail.lazySet(next + 1);
+		return true;
+	}
+
+	/**
+	 * Takes the event at the head of the queue so it can be read with the
+	 * getters. Only called on the game thread
+	 * @return if there was an event to take
+	 */
+	public boolean poll()
+	{
+		long next = head.get();
+		if (next == tail.get())
+		{
+			return false;
+		}
+
+		// Copy the event out before giving its place back to the event thread
+		int slot = (int) (next & MASK);
+		type = types[slot];
+		first = firsts[slot];
+		second = seconds[slot];
+		head.lazySet(next + 1);
+		return true;
+	}
+
+	/**
+	 * Returns the type of the event last taken
+	 * @return the type of the event last taken
+	 */
+	public int getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Returns the key code of the key event last taken
+	 * @return the key code of the key event last taken
+	 */
+	public int getKeyCode()
+	{
+		return first;
+	}
+
+	/**
+	 * Returns the x coordinate of the mouse event last taken
+	 * @return the x coordinate of the mouse event last taken
+	 */
+	public int getX()
+	{
+		return first;
+	}
+
+	/**
+	 * Returns the y coordinate of the mouse event last taken
+	 * @return the y coordinate of the mouse event last taken
+	 */
+	public int getY()
+	{
+		return second;
+	}
+}
\ No newline at end of file
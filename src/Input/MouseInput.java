@@ -8,12 +8,17 @@ import GameState.GameStateManager;
 import GameState.InstructionState;
 
 /**
- * This class is used for the purpose of interpreting mouse movement
+ * This class is used for the purpose of interpreting mouse movement. Mouse
+ * events arrive on the AWT event thread and are only put in the input queue
+ * there. The game thread hands them back to press, release and move at the
+ * start of a tick, so the flags below are only ever used by the game thread
  * @author Connor
- * @version 10
+ * @version 11
  */
 public class MouseInput implements MouseListener, MouseMotionListener
 {
+	// Queue the events are put in until the game thread takes them
+	private final InputQueue queue;
 
 	private boolean next;
 	private boolean previous;
@@ -28,9 +33,11 @@ public class MouseInput implements MouseListener, MouseMotionListener
 
 	/**
 	 * Sets the value of the variables
+	 * @param queue the queue to put mouse events in
 	 */
-	public MouseInput()
+	public MouseInput(InputQueue queue)
 	{
+		this.queue = queue;
 		next = false;
 		previous = false;
 		done = false;
@@ -45,13 +52,39 @@ public class MouseInput implements MouseListener, MouseMotionListener
 	}
 
 	/**
-	 * Processes events when the mouse is pressed differently depending on the
-	 * state the game is in
+	 * Puts a mouse press in the input queue
 	 */
 	public void mousePressed(MouseEvent e)
 	{
-		pressedX = e.getX();
-		pressedY = e.getY();
+		queue.addMouse(InputQueue.MOUSE_PRESSED, e.getX(), e.getY());
+	}
+
+	/**
+	 * Puts a mouse release in the input queue
+	 */
+	public void mouseReleased(MouseEvent e)
+	{
+		queue.addMouse(InputQueue.MOUSE_RELEASED, e.getX(), e.getY());
+	}
+
+	/**
+	 * Puts a mouse move in the input queue
+	 */
+	public void mouseMoved(MouseEvent e)
+	{
+		queue.addMouse(InputQueue.MOUSE_MOVED, e.getX(), e.getY());
+	}
+
+	/**
+	 * Processes events when the mouse is pressed differently depending on the
+	 * state the game is in. Called on the game thread
+	 * @param mouseX the x coordinate of the press
+	 * @param mouseY the y coordinate of the press
+	 */
+	public void press(int mouseX, int mouseY)
+	{
+		pressedX = mouseX;
+		pressedY = mouseY;
 		pressed = true;
 
 		// Process mouse presses in the instructions state
@@ -117,21 +150,24 @@ public class MouseInput implements MouseListener, MouseMotionListener
 	}
 
 	/**
-	 * Changes the value of pressed to false when the mouse is released
+	 * Changes the value of pressed to false when the mouse is released. Called
+	 * on the game thread
 	 */
-	public void mouseReleased(MouseEvent arg0)
+	public void release()
 	{
 		pressed = false;
 	}
 
 	/**
 	 * Processes events when the mouse is moved differently depending on the
-	 * state the game is in
+	 * state the game is in. Called on the game thread
+	 * @param mouseX the x coordinate of the mouse
+	 * @param mouseY the y coordinate of the mouse
 	 */
-	public void mouseMoved(MouseEvent e)
+	public void move(int mouseX, int mouseY)
 	{
-		movedX = e.getX();
-		movedY = e.getY();
+		movedX = mouseX;
+		movedY = mouseY;
 
 		// // Process mouse presses in the instructions state
 		if (GameStateManager.getState() == GameStateManager.MENU_STATE)
@@ -0,0 +1,339 @@
+package Main;
+
+import java.awt.AlphaComposite;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The assets class loads every image and font the game uses. Each resource is
+ * decoded only once and the same image or font is handed to everything that
+ * asks for it, so changing states never loads anything again. Preloading
+ * decodes everything on background threads while the game starts. Asking for
+ * an asset that is still being preloaded waits for it, and asking for one
+ * that hasn't been started yet loads it straight away. Images are copied into
+ * the same format as the screen when they are loaded so Java2D can keep them
+ * in video memory and draw them with its fastest loops
+ * @author Raya and Connor
+ * @version 2
+ */
+public final class Assets
+{
+	// Fonts
+	public static final String MICKEY = "/Fonts/MICKEY.TTF";
+	public static final String RING_BEARER = "/Fonts/RINGBEARER.TTF";
+
+	// Everything loaded by preload
+	private static final String[] PRELOAD = { MICKEY, RING_BEARER,
+			"/Backgrounds/CastleBackground.png", "/Items/coinBronze.png",
+			"/Items/coinGold.png", "/Items/coinSilver.png",
+			"/Items/gemBlue.png", "/Items/gemRed.png",
+			"/Items/hudGemBlueEmpty.png", "/Items/hudGemBlueFull.png",
+			"/Items/hudGemRedEmpty.png", "/Items/hudGemRedFull.png",
+			"/Menu/CongratsScreen.png", "/Menu/Credits.png",
+			"/Menu/Instructions/Instructions 1.png",
+			"/Menu/Instructions/Instructions 2.png",
+			"/Menu/Instructions/Instructions 3.png",
+			"/Menu/Instructions/Instructions 4.png",
+			"/Menu/Instructions/Instructions 5.png",
+			"/Menu/Instructions/Instructions 6.png",
+			"/Menu/Instructions/Instructions 7.png",
+			"/Menu/LevelSelectButton.png", "/Menu/MenuScreen.png",
+			"/Obstacles/buttonBlueOff.png", "/Obstacles/buttonBlueOn.png",
+			"/Obstacles/buttonGreenOff.png", "/Obstacles/buttonGreenOn.png",
+			"/Obstacles/buttonRedOff.png", "/Obstacles/buttonRedOn.png",
+			"/Obstacles/doorClosedBlue.png", "/Obstacles/doorClosedRed.png",
+			"/Obstacles/doorOpen.png", "/Obstacles/laserBlueHorizontal.png",
+			"/Obstacles/laserGreenHorizontal.png",
+			"/Obstacles/laserPurpleHorizontal.png",
+			"/Obstacles/laserRedHorizontal.png",
+			"/Obstacles/laserSwitchBlueOff.png",
+			"/Obstacles/laserSwitchBlueOn.png",
+			"/Obstacles/laserSwitchGreenOff.png",
+			"/Obstacles/laserSwitchGreenOn.png",
+			"/Obstacles/laserSwitchRedOff.png",
+			"/Obstacles/laserSwitchRedOn.png", "/Players/Buoy.png",
+			"/Players/Grill.png", "/Tilesets/GrassTileSet.png" };
+
+	// Loaded (or loading) assets by resource name. Fonts of a size and style
+	// are kept by the resource name followed by the style and size
+	private static final ConcurrentHashMap<String, FutureTask<Object>> assets = new ConcurrentHashMap<String, FutureTask<Object>>();
+
+	/**
+	 * Starts loading every asset on background threads
+	 */
+	public static void preload()
+	{
+		int numThreads = Math.max(1,
+				Runtime.getRuntime().availableProcessors() - 1);
+		for (int thread = 0; thread < numThreads; thread++)
+		{
+			final int first = thread;
+			final int step = numThreads;
+			Thread loader = new Thread(new Runnable()
+			{
+				public void run()
+				{
+					for (int asset = first; asset < PRELOAD.length; asset += step)
+					{
+						task(PRELOAD[asset]).run();
+					}
+				}
+			}, "Asset preloader " + (thread + 1));
+			loader.setDaemon(true);
+			loader.start();
+		}
+	}
+
+	/**
+	 * Returns an image, loading it if it hasn't been loaded yet. The image is
+	 * shared so it must not be drawn on
+	 * @param name the name of the image resource (for example
+	 *            "/Players/Buoy.png")
+	 * @return the image
+	 * @throws IOException if the image could not be loaded
+	 */
+	public static BufferedImage getImage(String name) throws IOException
+	{
+		try
+		{
+			return (BufferedImage) get(name);
+		}
+		catch (FontFormatException e)
+		{
+			throw new IOException(name + " is not an image", e);
+		}
+	}
+
+	/**
+	 * Returns a copy of part of an image in the same format as the screen.
+	 * Unlike a subimage the copy doesn't share the image's pixels, so Java2D
+	 * can keep it in video memory on its own
+	 * @param image the image to copy from
+	 * @param x the x coordinate of the part to copy
+	 * @param y the y coordinate of the part to copy
+	 * @param width the width of the part to copy
+	 * @param height the height of the part to copy
+	 * @return the copy
+	 */
+	public static BufferedImage copy(BufferedImage image, int x, int y,
+			int width, int height)
+	{
+		BufferedImage copy = createImage(width, height, image.getColorModel()
+				.getTransparency());
+		Graphics2D g = copy.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		g.drawImage(image, 0, 0, width, height, x, y, x + width, y + height,
+				null);
+		g.dispose();
+		return copy;
+	}
+
+	/**
+	 * Makes an image in the same format as the screen (or a plain ARGB or RGB
+	 * image when there is no screen)
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @param transparency the transparency of the image (like
+	 *            Transparency.TRANSLUCENT)
+	 * @return the image
+	 */
+	public static BufferedImage createImage(int width, int height,
+			int transparency)
+	{
+		if (GraphicsEnvironment.isHeadless())
+		{
+			int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+					: BufferedImage.TYPE_INT_ARGB;
+			return new BufferedImage(width, height, type);
+		}
+		return screenConfiguration().createCompatibleImage(width, height,
+				transparency);
+	}
+
+	/**
+	 * Returns a font of the given style and size, loading it if it hasn't
+	 * been loaded yet. The font is also registered so it can be found by name
+	 * @param name the name of the font resource (MICKEY or RING_BEARER)
+	 * @param style the style of the font (like Font.BOLD)
+	 * @param size the size of the font
+	 * @return the font
+	 * @throws IOException if the font could not be loaded
+	 * @throws FontFormatException if the font is not a TrueType font
+	 */
+	public static Font getFont(final String name, final int style,
+			final float size) throws IOException, FontFormatException
+	{
+		String key = name + " " + style + " " + size;
+		FutureTask<Object> task = assets.get(key);
+		if (task == null)
+		{
+			FutureTask<Object> newTask = new FutureTask<Object>(
+					new Callable<Object>()
+					{
+						public Object call() throws Exception
+						{
+							return ((Font) get(name)).deriveFont(style, size);
+						}
+					});
+			task = assets.putIfAbsent(key, newTask);
+			if (task == null)
+			{
+				task = newTask;
+			}
+		}
+		return (Font) get(task);
+	}
+
+	/**
+	 * Returns an asset, loading it on this thread if no other thread has
+	 * started loading it
+	 * @param name the name of the resource
+	 * @return the asset
+	 * @throws IOException if the asset could not be loaded
+	 * @throws FontFormatException if a font is not a TrueType font
+	 */
+	private static Object get(String name) throws IOException,
+			FontFormatException
+	{
+		return get(task(name));
+	}
+
+	/**
+	 * Runs a task if no other thread has started it and waits for its asset
+	 * @param task the task that loads the asset
+	 * @return the asset
+	 * @throws IOException if the asset could not be loaded
+	 * @throws FontFormatException if a font is not a TrueType font
+	 */
+	private static Object get(FutureTask<Object> task) throws IOException,
+			FontFormatException
+	{
+		task.run();
+		try
+		{
+			return task.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof FontFormatException)
+				throw (FontFormatException) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Returns the task that loads a resource, making it if it doesn't exist
+	 * @param name the name of the resource
+	 * @return the task that loads the resource
+	 */
+	private static FutureTask<Object> task(final String name)
+	{
+		FutureTask<Object> task = assets.get(name);
+		if (task == null)
+		{
+			FutureTask<Object> newTask = new FutureTask<Object>(
+					new Callable<Object>()
+					{
+						public Object call() throws Exception
+						{
+							return load(name);
+						}
+					});
+			task = assets.putIfAbsent(name, newTask);
+			if (task == null)
+			{
+				task = newTask;
+			}
+		}
+		return task;
+	}
+
+	/**
+	 * Decodes a resource. Fonts (.TTF files) are registered with the graphics
+	 * environment and everything else is read as an image
+	 * @param name the name of the resource
+	 * @return the image or font
+	 * @throws IOException if the resource could not be found or read
+	 * @throws FontFormatException if a font is not a TrueType font
+	 */
+	private static Object load(String name) throws IOException,
+			FontFormatException
+	{
+		InputStream in = Assets.class.getResourceAsStream(name);
+		if (in == null)
+		{
+			throw new IOException(name + " could not be found");
+		}
+
+		try
+		{
+			if (name.toUpperCase().endsWith(".TTF"))
+			{
+				Font font = Font.createFont(Font.TRUETYPE_FONT, in);
+				GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(
+						font);
+				return font;
+			}
+
+			BufferedImage image = ImageIO.read(in);
+			if (image == null)
+			{
+				throw new IOException(name + " is not an image");
+			}
+			return toScreenFormat(image);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Returns an image in the same format as the screen, copying it if it
+	 * isn't already
+	 * @param image the image
+	 * @return the image in the same format as the screen
+	 */
+	private static BufferedImage toScreenFormat(BufferedImage image)
+	{
+		int transparency = image.getColorModel().getTransparency();
+		if (!GraphicsEnvironment.isHeadless()
+				&& image.getColorModel().equals(
+						screenConfiguration().getColorModel(transparency)))
+		{
+			return image;
+		}
+		return copy(image, 0, 0, image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * Returns the configuration of the screen the game is shown on
+	 * @return the configuration of the screen
+	 */
+	private static GraphicsConfiguration screenConfiguration()
+	{
+		return GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDefaultConfiguration();
+	}
+}
\ No newline at end of file
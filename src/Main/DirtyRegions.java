@@ -0,0 +1,171 @@
+package Main;
+
+import java.awt.Rectangle;
+
+/**
+ * Keeps track of the parts of the screen that have changed since the last
+ * frame was drawn so only those parts have to be drawn again. Regions that
+ * overlap are joined together and once there are too many regions they are all
+ * joined into one
+ * @author Raya and Connor
+ * @version 1
+ */
+public class DirtyRegions
+{
+	private static final int MAX_REGIONS = 8;
+
+	// Regions
+	private Rectangle[] regions;
+	private int numRegions;
+	private boolean all;
+
+	/**
+	 * Creates an empty set of regions
+	 */
+	public DirtyRegions()
+	{
+		regions = new Rectangle[MAX_REGIONS];
+		for (int region = 0; region < MAX_REGIONS; region++)
+		{
+			regions[region] = new Rectangle();
+		}
+		numRegions = 0;
+		all = false;
+	}
+
+	/**
+	 * Marks the given area of the screen as changed
+	 * @param x the x coordinate of the area
+	 * @param y the y coordinate of the area
+	 * @param width the width of the area
+	 * @param height the height of the area
+	 */
+	public void add(int x, int y, int width, int height)
+	{
+		if (all)
+		{
+			return;
+		}
+
+		// Only keep the part of the area that is on the screen
+		int x2 = Math.min(x + width, GamePanel.WIDTH);
+		int y2 = Math.min(y + height, GamePanel.HEIGHT);
+		x = Math.max(x, 0);
+		y = Math.max(y, 0);
+		if (x2 <= x || y2 <= y)
+		{
+			return;
+		}
+
+		// Join the area with a region it overlaps
+		for (int region = 0; region < numRegions; region++)
+		{
+			Rectangle r = regions[region];
+			if (x < r.x + r.width && r.x < x2 && y < r.y + r.height
+					&& r.y < y2)
+			{
+				r.add(x, y);
+				r.add(x2, y2);
+				return;
+			}
+		}
+
+		// Too many regions so join them all into one
+		if (numRegions == MAX_REGIONS)
+		{
+			Rectangle r = regions[0];
+			for (int region = 1; region < numRegions; region++)
+			{
+				r.add(regions[region]);
+			}
+			r.add(x, y);
+			r.add(x2, y2);
+			numRegions = 1;
+			return;
+		}
+
+		regions[numRegions++].setBounds(x, y, x2 - x, y2 - y);
+	}
+
+	/**
+	 * Marks the given area of the screen as changed
+	 * @param area the area that changed
+	 */
+	public void add(Rectangle area)
+	{
+		add(area.x, area.y, area.width, area.height);
+	}
+
+	/**
+	 * Marks every region in the given set of regions as changed
+	 * @param other the regions that changed
+	 */
+	public void add(DirtyRegions other)
+	{
+		if (other.all)
+		{
+			addAll();
+			return;
+		}
+		for (int region = 0; region < other.numRegions; region++)
+		{
+			add(other.regions[region]);
+		}
+	}
+
+	/**
+	 * Marks the whole screen as changed
+	 */
+	public void addAll()
+	{
+		all = true;
+		numRegions = 0;
+	}
+
+	/**
+	 * Returns if the whole screen has changed
+	 * @return if the whole screen has changed
+	 */
+	public boolean isAll()
+	{
+		return all;
+	}
+
+	/**
+	 * Returns if nothing has changed
+	 * @return if nothing has changed
+	 */
+	public boolean isEmpty()
+	{
+		return !all && numRegions == 0;
+	}
+
+	/**
+	 * Returns the number of regions that changed
+	 * @return the number of regions that changed
+	 */
+	public int size()
+	{
+		return numRegions;
+	}
+
+	/**
+	 * Returns the region at the given index. The rectangle is reused so it
+	 * should not be kept after the regions are cleared
+	 * @param region the index of the region
+	 * @return the region at the given index
+	 */
+	public Rectangle get(int region)
+	{
+		return regions[region];
+	}
+
+	/**
+	 * Forgets all of the changes (used once they have been drawn)
+	 */
+	public void clear()
+	{
+		numRegions = 0;
+		all = false;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package Main;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+/**
+ * The frame overlay shows how the game is running: the frames per second,
+ * the 50th, 95th and 99th percentile frame times and a graph of the recorded
+ * frames with each phase in its own colour. It is turned on and off with F3.
+ * The text is only worked out a few times a second so it can be read
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class FrameOverlay
+{
+	// Area of the screen the overlay covers
+	private static final int WIDTH = FrameTimer.CAPACITY + 16;
+	private static final int HEIGHT = 140;
+	private final Rectangle bounds = new Rectangle(GamePanel.WIDTH - WIDTH
+			- 8, GamePanel.HEIGHT - HEIGHT - 8, WIDTH, HEIGHT);
+
+	// Graph (40 ms high)
+	private static final int GRAPH_HEIGHT = 80;
+	private static final double NANOSECONDS_PER_PIXEL = 40000000.0 / GRAPH_HEIGHT;
+	private static final Color[] PHASE_COLOURS = { new Color(80, 160, 255),
+			new Color(80, 220, 80), new Color(255, 200, 40),
+			new Color(90, 90, 90) };
+	private static final Color BACKGROUND = new Color(0, 0, 0, 190);
+	private static final Color TARGET_LINE = new Color(255, 60, 60);
+
+	// Text
+	private static final long TEXT_UPDATE_TIME = 250000000L;
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+	private final FrameTimer timer;
+	private String fps = "", percentiles = "";
+	private long textUpdated;
+
+	/**
+	 * Makes an overlay for a frame timer
+	 * @param timer the frame timer to show
+	 */
+	public FrameOverlay(FrameTimer timer)
+	{
+		this.timer = timer;
+	}
+
+	/**
+	 * Returns the area of the screen the overlay covers
+	 * @return the area of the screen the overlay covers
+	 */
+	public Rectangle getBounds()
+	{
+		return bounds;
+	}
+
+	/**
+	 * Draws the overlay
+	 * @param g the graphics to draw with
+	 */
+	public void draw(Graphics2D g)
+	{
+		long now = System.nanoTime();
+		if (now - textUpdated > TEXT_UPDATE_TIME)
+		{
+			textUpdated = now;
+			fps = String.format("FPS %5.1f  update/render/present/sleep",
+					timer.getFramesPerSecond());
+			percentiles = String.format("p50 %5.2f  p95 %5.2f  p99 %5.2f ms",
+					timer.getPercentile(50) / 1e6,
+					timer.getPercentile(95) / 1e6,
+					timer.getPercentile(99) / 1e6);
+		}
+
+		g.setColor(BACKGROUND);
+		g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+
+		g.setFont(FONT);
+		g.setColor(Color.WHITE);
+		g.drawString(fps, bounds.x + 8, bounds.y + 16);
+		g.drawString(percentiles, bounds.x + 8, bounds.y + 32);
+
+		// One column for each frame with the newest on the right, each
+		// phase stacked on the one before it
+		int bottom = bounds.y + bounds.height - 8;
+		int recorded = timer.getRecorded();
+		for (int frame = 0; frame < recorded; frame++)
+		{
+			int x = bounds.x + 8 + FrameTimer.CAPACITY - 1 - frame;
+			int y = bottom;
+			for (int phase = 0; phase < FrameTimer.NUM_PHASES; phase++)
+			{
+				int height = (int) (timer.getPhaseTime(frame, phase)
+						/ NANOSECONDS_PER_PIXEL);
+				height = Math.min(height, y - (bottom - GRAPH_HEIGHT));
+				if (height > 0)
+				{
+					g.setColor(PHASE_COLOURS[phase]);
+					g.drawLine(x, y - height, x, y - 1);
+					y -= height;
+				}
+			}
+		}
+
+		// The time one tick takes (60 frames a second)
+		int target = bottom - (int) (1000000000L / GamePanel.TICKS_PER_SECOND
+				/ NANOSECONDS_PER_PIXEL);
+		g.setColor(TARGET_LINE);
+		g.drawLine(bounds.x + 8, target, bounds.x + 8 + FrameTimer.CAPACITY - 1,
+				target);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package Main;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.EventType;
+
+import Profiling.FrameEvent;
+
+/**
+ * The frame timer records how long each part (phase) of every frame takes:
+ * updating the game, drawing it into the back buffer, showing it on the
+ * screen and sleeping until the next frame. The last CAPACITY frames are kept
+ * in a ring buffer. Only the game thread writes to it and each frame is
+ * published with one atomic write, so reading it never needs a lock. Timing a
+ * frame only costs a few calls to System.nanoTime, so it is always on. Each
+ * frame is also recorded as a FrameEvent when Java Flight Recorder is
+ * recording them (no event is made otherwise, so frames make no garbage)
+ * @author Raya and Connor
+ * @version 3
+ */
+public final class FrameTimer
+{
+	// Phases
+	public static final int UPDATE = 0;
+	public static final int RENDER = 1;
+	public static final int PRESENT = 2;
+	public static final int SLEEP = 3;
+	public static final int NUM_PHASES = 4;
+
+	// Frames kept (a power of two so the ring can wrap with a mask)
+	public static final int CAPACITY = 256;
+	private static final int MASK = CAPACITY - 1;
+
+	// Ring of frame times and the time of each phase of each frame (in
+	// nanoseconds)
+	private final long[] frameTimes = new long[CAPACITY];
+	private final long[] phaseTimes = new long[CAPACITY * NUM_PHASES];
+	private final AtomicLong frames = new AtomicLong();
+
+	// Frame being timed
+	private final long[] current = new long[NUM_PHASES];
+	private long frameStart, lastMark;
+
+	// Flight Recorder event for the frame being timed (null when no
+	// recording wants frame events)
+	private static final EventType FRAME_EVENT = EventType
+			.getEventType(FrameEvent.class);
+	private FrameEvent event;
+
+	// Used to sort frame times for percentiles
+	private final long[] sorted = new long[CAPACITY];
+
+	/**
+	 * Finishes the last frame (if there was one) and starts timing a new one
+	 * @param now the time the new frame started (from System.nanoTime)
+	 */
+	public void startFrame(long now)
+	{
+		if (frameStart != 0)
+		{
+			long frame = frames.get();
+			int slot = (int) (frame & MASK);
+			frameTimes[slot] = now - frameStart;
+			System.arraycopy(current, 0, phaseTimes, slot * NUM_PHASES,
+					NUM_PHASES);
+			frames.lazySet(frame + 1);
+
+			if (event != null && event.shouldCommit())
+			{
+				event.update = current[UPDATE];
+				event.render = current[RENDER];
+				event.present = current[PRESENT];
+				event.sleep = current[SLEEP];
+				event.commit();
+			}
+		}
+
+		Arrays.fill(current, 0);
+		frameStart = now;
+		lastMark = now;
+		event = null;
+		if (FRAME_EVENT.isEnabled())
+		{
+			event = new FrameEvent();
+			event.begin();
+		}
+	}
+
+	/**
+	 * Adds the time since the last mark (or the start of the frame) to a phase
+	 * @param phase the phase that just finished
+	 */
+	public void mark(int phase)
+	{
+		long now = System.nanoTime();
+		current[phase] += now - lastMark;
+		lastMark = now;
+	}
+
+	/**
+	 * Returns the number of frames recorded so far
+	 * @return the number of frames recorded
+	 */
+	public long getFrames()
+	{
+		return frames.get();
+	}
+
+	/**
+	 * Returns how long a recorded frame took
+	 * @param framesAgo how many frames before the last one (0 is the last
+	 *            frame, less than CAPACITY)
+	 * @return how long the frame took in nanoseconds
+	 */
+	public long getFrameTime(int framesAgo)
+	{
+		return frameTimes[(int) ((frames.get() - 1 - framesAgo) & MASK)];
+	}
+
+	/**
+	 * Returns how long a phase of a recorded frame took
+	 * @param framesAgo how many frames before the last one (0 is the last
+	 *            frame, less than CAPACITY)
+	 * @param phase the phase
+	 * @return how long the phase took in nanoseconds
+	 */
+	public long getPhaseTime(int framesAgo, int phase)
+	{
+		int slot = (int) ((frames.get() - 1 - framesAgo) & MASK);
+		return phaseTimes[slot * NUM_PHASES + phase];
+	}
+
+	/**
+	 * Returns the number of frames that can be read (at most CAPACITY)
+	 * @return the number of frames that can be read
+	 */
+	public int getRecorded()
+	{
+		return (int) Math.min(frames.get(), CAPACITY);
+	}
+
+	/**
+	 * Returns the frames per second over the recorded frames
+	 * @return the frames per second (0 if no frames have been recorded)
+	 */
+	public double getFramesPerSecond()
+	{
+		int recorded = getRecorded();
+		long total = 0;
+		for (int frame = 0; frame < recorded; frame++)
+		{
+			total += getFrameTime(frame);
+		}
+		return total == 0 ? 0 : recorded * 1e9 / total;
+	}
+
+	/**
+	 * Returns a percentile of the recorded frame times. Only meant to be used
+	 * by the thread that records frames
+	 * @param percentile the percentile (0 to 100)
+	 * @return the frame time in nanoseconds that the given percent of frames
+	 *         took at most (0 if no frames have been recorded)
+	 */
+	public long getPercentile(double percentile)
+	{
+		int recorded = getRecorded();
+		if (recorded == 0)
+		{
+			return 0;
+		}
+		for (int frame = 0; frame < recorded; frame++)
+		{
+			sorted[frame] = getFrameTime(frame);
+		}
+		Arrays.sort(sorted, 0, recorded);
+		int index = (int) Math.ceil(percentile / 100 * recorded) - 1;
+		return sorted[Math.max(0, Math.min(recorded - 1, index))];
+	}
+}
\ No newline at end of file
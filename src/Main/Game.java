@@ -2,13 +2,12 @@ package Main;
 
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
 import javax.swing.JFrame;
 
 /**
  * The main class that runs the main program
  * @author Raya and Connor
- * @version 3
+ * @version 4
  */
 public class Game extends JFrame
 {
@@ -16,6 +15,9 @@ public class Game extends JFrame
 
 	public static void main(String[] args) throws IOException
 	{
+		// Decode the images and fonts while the player types their name
+		Assets.preload();
+
 		// Set up the Frame
 		JFrame frame = new JFrame("Fire Grill and Water Buoy");
 		frame.setContentPane(new GamePanel());
@@ -23,8 +25,7 @@ public class Game extends JFrame
 		frame.setResizable(false);
 		frame.pack();
 		frame.setLocationRelativeTo(null);
-		frame.setIconImage(ImageIO.read(Game.class
-				.getResourceAsStream("/Players/Grill.png")));
+		frame.setIconImage(Assets.getImage("/Players/Grill.png"));
 		frame.setVisible(true);
 		frame.toFront();
 	}
@@ -1,24 +1,34 @@
 package Main;
 
+import java.awt.BorderLayout;
+import java.awt.Canvas;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.awt.image.BufferedImage;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
 import java.io.IOException;
 
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
 import GameState.GameStateManager;
+import Input.InputQueue;
 import Input.MouseInput;
+import TileMap.LevelPack;
 
 /**
  * The class that creates the JPanel for the game Gets all of the key events
- * Runs the thread
+ * Runs the thread. The game is actively rendered onto a canvas using a buffer
+ * strategy instead of waiting for Swing to repaint the panel. Key and mouse
+ * events are queued on the event thread and handled by the game thread at the
+ * start of each tick
  * @author Raya and Connor
- * @version 15
+ * @version 23
  */
 public class GamePanel extends JPanel implements Runnable, KeyListener
 {
@@ -31,19 +41,44 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 	// Game thread
 	private Thread thread;
 	private boolean running;
-	private int FPS = 60;
-	private long targetTime = 1000 / FPS;
 
-	// Image
-	private BufferedImage image;
-	private Graphics2D g;
+	// Game loop timing (in nanoseconds). The game is updated in fixed ticks so
+	// the player physics behave the same no matter how fast the computer is
+	public static final int TICKS_PER_SECOND = 60;
+	private static final long TICK_TIME = 1000000000L / TICKS_PER_SECOND;
+	private static final int MAX_TICKS_PER_FRAME = 5;
+	private static final int MAX_FPS = 120;
+	private static final long FRAME_TIME = 1000000000L / MAX_FPS;
+	private static double interpolation;
+
+	// Timing of each phase of each frame and the overlay that shows it
+	// (toggled with F3)
+	private final FrameTimer frameTimer = new FrameTimer();
+	private final FrameOverlay overlay = new FrameOverlay(frameTimer);
+	private boolean showOverlay;
+	private boolean overlayShown;
+
+	// Rendering
+	private static final int NUM_BUFFERS = 3;
+	private Canvas canvas;
+	private VolatileImage image;
+	private DirtyRegions dirty;
+	private volatile boolean exposed;
 
 	// GameStateManager
 	private static GameStateManager gsm;
 	private static int level;
+	private boolean warmingUp;
+
+	// Key and mouse events waiting for the next tick
+	private static final InputQueue input = new InputQueue();
+
+	// A mouse release that came in the same tick as its press. It is handled
+	// at the start of the next tick so the game states see the press
+	private boolean releaseNextTick;
 
 	// Mouse input
-	public static MouseInput mouse = new MouseInput();
+	public static MouseInput mouse = new MouseInput(input);
 
 	// User
 	public static int totalScore, totalTime;
@@ -63,17 +98,36 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 		setPreferredSize(new Dimension(WIDTH, HEIGHT));
 		setMaximumSize(new Dimension(WIDTH, HEIGHT));
 		setMinimumSize(new Dimension(WIDTH, HEIGHT));
-		setFocusable(true);
-		requestFocus();
+
+		// The canvas is drawn to by the game thread. When the window asks for
+		// it to be repainted (for example after being uncovered) the game
+		// thread shows the last frame again
+		setLayout(new BorderLayout());
+		canvas = new Canvas()
+		{
+			private static final long serialVersionUID = 1L;
+
+			public void paint(Graphics g)
+			{
+				exposed = true;
+			}
+
+			public void update(Graphics g)
+			{
+				paint(g);
+			}
+		};
+		canvas.setFocusable(true);
+		add(canvas, BorderLayout.CENTER);
 
 		totalScore = 0;
 		levelsCompleted = new boolean[TOTAL_LEVELS];
 		level = 1;
 
-		addMouseListener(mouse);
-		addMouseMotionListener(mouse);
+		canvas.addMouseListener(mouse);
+		canvas.addMouseMotionListener(mouse);
 
-		highScores = new Highscores();
+		highScores = new Highscores(TOTAL_LEVELS);
 
 		String input = JOptionPane.showInputDialog("Please Enter your name");
 		if (input != null && input.length() >= 1)
@@ -92,26 +146,52 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 		if (thread == null)
 		{
 			thread = new Thread(this);
-			addKeyListener(this);
+			canvas.addKeyListener(this);
+			canvas.requestFocus();
 			thread.start();
 		}
 	}
 
 	/**
 	 * Initializes the graphics and the GameStateManager
-	 * @throws IOException if image is equal to null
+	 * @throws IOException if a game state could not be loaded
 	 */
 	private void init() throws IOException
 	{
-		image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
-		g = (Graphics2D) image.getGraphics();
+		// Uses page flipping if the graphics card supports it and falls back
+		// to copying between buffers if it doesn't
+		canvas.createBufferStrategy(NUM_BUFFERS);
+		createBackBuffer();
+		dirty = new DirtyRegions();
 		running = true;
+
+		// Map the levels once so changing levels doesn't have to open files
+		LevelPack.getDefault();
+
 		gsm = new GameStateManager(level);
+		warmingUp = true;
 	}
 
 	/**
-	 * Runs the init, update and draw methods. Starts the thread and keeps the
-	 * max frames per second at 60
+	 * Creates the image the game is drawn to before it is shown. It is kept in
+	 * video memory so showing it is a fast copy
+	 */
+	private void createBackBuffer()
+	{
+		if (image != null)
+		{
+			image.flush();
+		}
+		image = canvas.getGraphicsConfiguration().createCompatibleVolatileImage(
+				WIDTH, HEIGHT);
+	}
+
+	/**
+	 * Runs the init, update and draw methods. Starts the thread and updates
+	 * the game at a fixed rate of TICKS_PER_SECOND. Time that has passed is
+	 * collected and used up in whole ticks (at most MAX_TICKS_PER_FRAME at a
+	 * time so a slow frame can catch up without freezing the game). The
+	 * leftover time is used to draw between the last two ticks
 	 */
 	public void run()
 	{
@@ -125,8 +205,10 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 		}
 
 		long start;
-		long elapsed;
+		long previous;
+		long accumulator;
 		long wait;
+		int ticks;
 
 		try
 		{
@@ -137,59 +219,228 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 			ioe.printStackTrace();
 		}
 
+		previous = System.nanoTime();
+		accumulator = 0;
 		while (running)
 		{
 			start = System.nanoTime();
+			frameTimer.startFrame(start);
+			accumulator += start - previous;
+			previous = start;
 
-			try
+			// Update the game once for every tick that has passed
+			ticks = 0;
+			while (accumulator >= TICK_TIME && ticks < MAX_TICKS_PER_FRAME)
 			{
-				update();
-			}
-			catch (IOException e1)
-			{
-				e1.printStackTrace();
+				try
+				{
+					update();
+				}
+				catch (IOException e1)
+				{
+					e1.printStackTrace();
+				}
+				accumulator -= TICK_TIME;
+				ticks++;
 			}
-			draw(g);
 
-			elapsed = System.nanoTime() - start;
-			wait = targetTime - (elapsed / 1000000);
-			if (wait < 0)
+			// If the game is too far behind drop the ticks it can't catch up on
+			// instead of trying to run them all next frame
+			if (accumulator >= TICK_TIME)
 			{
-				wait = 5;
+				accumulator %= TICK_TIME;
 			}
+			frameTimer.mark(FrameTimer.UPDATE);
 
-			try
+			interpolation = (double) accumulator / TICK_TIME;
+			draw();
+
+			// Use spare time in the frame to load the images of the states
+			// that haven't been needed yet (one state at a time so no frame
+			// is held up long)
+			if (warmingUp && System.nanoTime() - start < FRAME_TIME / 2)
 			{
-				Thread.sleep(wait);
+				try
+				{
+					warmingUp = gsm.warmUp();
+				}
+				catch (IOException e)
+				{
+					e.printStackTrace();
+					warmingUp = false;
+				}
+				frameTimer.mark(FrameTimer.UPDATE);
 			}
-			catch (InterruptedException e)
+
+			wait = start + FRAME_TIME - System.nanoTime();
+			if (wait > 0)
 			{
-				e.printStackTrace();
+				try
+				{
+					Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+				}
+				catch (InterruptedException e)
+				{
+					e.printStackTrace();
+				}
 			}
+			frameTimer.mark(FrameTimer.SLEEP);
 		}
 
 	}
 
+	/**
+	 * Returns how far the game is between the last tick and the next one (0 to
+	 * 1). Used to draw moving objects smoothly between ticks
+	 * @return how far the game is between the last tick and the next one
+	 */
+	public static double getInterpolation()
+	{
+		return interpolation;
+	}
+
 	/**
 	 * Calls the GameStateManagers update method
 	 * @throws IOException
 	 */
 	private void update() throws IOException
 	{
+		handleInput();
 		gsm.update();
 	}
 
 	/**
-	 * Draws the screen and calls the GameStateManagers draw method
-	 * @param g The graphics to draw with
+	 * Hands every queued key and mouse event to the game state or the mouse
+	 * input. F3 turns the frame overlay on and off. If the mouse is pressed
+	 * and released in the same tick the release and everything after it wait
+	 * until the next tick, so the press isn't gone before anything can see it
+	 * @throws IOException if a key press could not be handled properly
+	 */
+	private void handleInput() throws IOException
+	{
+		if (releaseNextTick)
+		{
+			mouse.release();
+			releaseNextTick = false;
+		}
+
+		boolean pressedThisTick = false;
+		while (input.poll())
+		{
+			switch (input.getType())
+			{
+			case InputQueue.KEY_PRESSED:
+				if (input.getKeyCode() == KeyEvent.VK_F3)
+				{
+					showOverlay = !showOverlay;
+				}
+				else
+				{
+					gsm.keyPressed(input.getKeyCode());
+				}
+				break;
+			case InputQueue.KEY_RELEASED:
+				gsm.keyReleased(input.getKeyCode());
+				break;
+			case InputQueue.MOUSE_PRESSED:
+				mouse.press(input.getX(), input.getY());
+				pressedThisTick = true;
+				break;
+			case InputQueue.MOUSE_RELEASED:
+				if (pressedThisTick)
+				{
+					releaseNextTick = true;
+					return;
+				}
+				mouse.release();
+				break;
+			case InputQueue.MOUSE_MOVED:
+				mouse.move(input.getX(), input.getY());
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Draws the parts of the game that changed into the back buffer then shows
+	 * it on the screen. Nothing is shown if nothing changed. Video memory can
+	 * be lost at any time (for example when the screen resolution changes) so
+	 * the whole frame is drawn again if that happens. The frame overlay is
+	 * drawn on top when it is turned on
+	 */
+	private void draw()
+	{
+		// Everything under the overlay is drawn again when it is turned on or
+		// off and the overlay changes every frame while it is on
+		if (showOverlay != overlayShown)
+		{
+			overlayShown = showOverlay;
+			dirty.addAll();
+		}
+		if (overlayShown)
+		{
+			dirty.add(overlay.getBounds());
+		}
+
+		GraphicsConfiguration gc = canvas.getGraphicsConfiguration();
+		do
+		{
+			int valid = image.validate(gc);
+			if (valid == VolatileImage.IMAGE_INCOMPATIBLE)
+			{
+				createBackBuffer();
+				dirty.addAll();
+			}
+			else if (valid == VolatileImage.IMAGE_RESTORED)
+			{
+				dirty.addAll();
+			}
+
+			Graphics2D g = image.createGraphics();
+			gsm.draw(g, dirty);
+			if (overlayShown)
+			{
+				overlay.draw(g);
+			}
+			g.dispose();
+			frameTimer.mark(FrameTimer.RENDER);
+
+			// The buffer strategy can only show whole frames so the back
+			// buffer is shown whenever any part of it changed
+			if (!dirty.isEmpty() || exposed)
+			{
+				exposed = false;
+				present();
+			}
+			frameTimer.mark(FrameTimer.PRESENT);
+			dirty.clear();
+		}
+		while (image.contentsLost());
+	}
+
+	/**
+	 * Copies the back buffer to the buffer strategy and flips it onto the
+	 * screen
 	 */
-	private void draw(Graphics2D g)
+	private void present()
 	{
-		Graphics g2 = getGraphics();
-		g2.drawImage(image, 0, 0, WIDTH, HEIGHT, null);
-		g2.dispose();
+		BufferStrategy strategy = canvas.getBufferStrategy();
+		do
+		{
+			do
+			{
+				Graphics g = strategy.getDrawGraphics();
+				g.drawImage(image, 0, 0, null);
+				g.dispose();
+			}
+			while (strategy.contentsRestored());
+
+			strategy.show();
+		}
+		while (strategy.contentsLost());
 
-		gsm.draw(g);
+		// Stops the frame from waiting in the windowing system's queue
+		Toolkit.getDefaultToolkit().sync();
 	}
 
 	/**
@@ -231,15 +482,24 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 	 * @param levelCompleted The level being played
 	 * @param score The current score from the level
 	 * @param time The current time from the level
-	 * @throws IOException
+	 * @return the place the score was put in the level's highscores or -1 if
+	 *         it wasn't high enough
 	 */
-	public static void updateLevelStats(int levelCompleted, int score, int time)
-			throws IOException
+	public static int updateLevelStats(int levelCompleted, int score, int time)
 	{
-		highScores.updateLevelHighScore(name, score, time,
+		return highScores.updateLevelHighScore(name, score, time,
 				levelCompleted);
 	}
 
+	/**
+	 * Returns the highscores for the game and each level
+	 * @return the highscores
+	 */
+	public static Highscores getHighScores()
+	{
+		return highScores;
+	}
+
 	/**
 	 * Checks if the game has been completed. If it has it updates the total
 	 * high scores list
@@ -257,28 +517,19 @@ public class GamePanel extends JPanel implements Runnable, KeyListener
 	}
 
 	/**
-	 * Listens for key pressed events
+	 * Listens for key pressed events and queues them for the next tick
 	 */
 	public void keyPressed(KeyEvent key)
 	{
-
-		try
-		{
-			gsm.keyPressed(key.getKeyCode());
-		}
-		catch (IOException e)
-		{
-			e.printStackTrace();
-		}
-
+		input.addKey(InputQueue.KEY_PRESSED, key.getKeyCode());
 	}
 
 	/**
-	 * Listens for key released events
+	 * Listens for key released events and queues them for the next tick
 	 */
 	public void keyReleased(KeyEvent key)
 	{
-		gsm.keyReleased(key.getKeyCode());
+		input.addKey(InputQueue.KEY_RELEASED, key.getKeyCode());
 	}
 
 	// Below is unused
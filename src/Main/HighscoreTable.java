@@ -0,0 +1,209 @@
+package Main;
+
+/**
+ * A highscore table is one list of the best scores kept in memory, highest
+ * score first. When two scores are the same, whoever has the lower time is
+ * closer to the top. The table is always full (empty places hold a default
+ * player with no score) and is written out as one "name score time" line for
+ * each place. The table's version goes up every time it changes, so anything
+ * made from it only has to be made again when the version is different
+ * @author Raya and Connor
+ * @version 2
+ */
+public class HighscoreTable
+{
+	// Default score and time for empty places
+	private static final int NO_SCORE = 0;
+	private static final int NO_TIME = 999;
+
+	// File the table is saved to
+	private final String file;
+
+	// Places (index 0 is the highest)
+	private final String[] names;
+	private final int[] scores;
+	private final int[] times;
+
+	// Changes made to the table
+	private int version;
+
+	/**
+	 * Makes a table filled with default players
+	 * @param file the file the table is saved to
+	 * @param places the number of places in the table
+	 */
+	HighscoreTable(String file, int places)
+	{
+		this.file = file;
+		names = new String[places];
+		scores = new int[places];
+		times = new int[places];
+		for (int place = 0; place < places; place++)
+		{
+			names[place] = "Player_" + (place + 1);
+			scores[place] = NO_SCORE;
+			times[place] = NO_TIME;
+		}
+	}
+
+	/**
+	 * Fills the table from the text of a saved table. Lines that are missing
+	 * or can't be read keep the default player
+	 * @param text the saved table
+	 */
+	synchronized void parse(String text)
+	{
+		int start = 0;
+		for (int place = 0; place < names.length && start < text.length(); place++)
+		{
+			int end = text.indexOf('\n', start);
+			if (end < 0)
+			{
+				end = text.length();
+			}
+
+			// Each line is "name score time"
+			int firstSpace = text.indexOf(' ', start);
+			int secondSpace = firstSpace < 0 ? -1 : text.indexOf(' ',
+					firstSpace + 1);
+			if (secondSpace >= 0 && secondSpace < end)
+			{
+				try
+				{
+					int score = Integer.parseInt(text.substring(firstSpace + 1,
+							secondSpace));
+					int time = Integer.parseInt(text.substring(secondSpace + 1,
+							end).trim());
+					names[place] = text.substring(start, firstSpace);
+					scores[place] = score;
+					times[place] = time;
+				}
+				catch (NumberFormatException e)
+				{
+					// Keep the default player
+				}
+			}
+			start = end + 1;
+		}
+		version++;
+	}
+
+	/**
+	 * Adds a score to the table if it is high enough, moving the lower places
+	 * down and dropping the last one. The place is found with a binary search
+	 * @param name the name of the player who got the score
+	 * @param score the score the player has
+	 * @param time the time the player took
+	 * @return the place the score was put in or -1 if it wasn't high enough
+	 */
+	synchronized int add(String name, int score, int time)
+	{
+		// Find the first place that is beaten by the new score
+		int low = 0;
+		int high = names.length;
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			if (scores[middle] > score || scores[middle] == score
+					&& times[middle] <= time)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		if (low == names.length)
+		{
+			return -1;
+		}
+
+		int moved = names.length - 1 - low;
+		System.arraycopy(names, low, names, low + 1, moved);
+		System.arraycopy(scores, low, scores, low + 1, moved);
+		System.arraycopy(times, low, times, low + 1, moved);
+		names[low] = name.replace(' ', '_');
+		scores[low] = score;
+		times[low] = time;
+		version++;
+		return low;
+	}
+
+	/**
+	 * Returns the table as the text it is saved as. There is no new line
+	 * after the last place
+	 * @return the table as text
+	 */
+	synchronized String format()
+	{
+		StringBuilder text = new StringBuilder();
+		for (int place = 0; place < names.length; place++)
+		{
+			if (place > 0)
+			{
+				text.append('\n');
+			}
+			text.append(names[place]).append(' ').append(scores[place])
+					.append(' ').append(times[place]);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Returns the file the table is saved to
+	 * @return the file the table is saved to
+	 */
+	String getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Returns the table's version, which goes up every time it changes
+	 * @return the table's version
+	 */
+	public synchronized int getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Returns the number of places in the table
+	 * @return the number of places in the table
+	 */
+	public int getPlaces()
+	{
+		return names.length;
+	}
+
+	/**
+	 * Returns the name of the player in a place (with underscores for spaces)
+	 * @param place the place (0 is the highest)
+	 * @return the name of the player in the place
+	 */
+	public synchronized String getName(int place)
+	{
+		return names[place];
+	}
+
+	/**
+	 * Returns the score in a place
+	 * @param place the place (0 is the highest)
+	 * @return the score in the place
+	 */
+	public synchronized int getScore(int place)
+	{
+		return scores[place];
+	}
+
+	/**
+	 * Returns the time in a place
+	 * @param place the place (0 is the highest)
+	 * @return the time in the place
+	 */
+	public synchronized int getTime(int place)
+	{
+		return times[place];
+	}
+}
\ No newline at end of file
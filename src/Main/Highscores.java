@@ -1,229 +1,327 @@
 package Main;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+import Profiling.HighscoreWriteEvent;
 
 /**
- * The highscores class is used to update scores in the respective .hs file of
- * each level. At the end of the game, this class can update the master .hs
- * file.
+ * The highscores class keeps the highscores of each level and of the whole
+ * game. Every table is read from its .hs file once when the game starts and
+ * is then updated in memory, so finishing a level never waits for the disk.
+ * Changed tables are written by a background thread a little later (so
+ * changes close together are written at once). Each file is written to a
+ * temporary file first and then renamed over the old one, so a crash can
+ * never leave half a table behind. Anything not written yet is written when
+ * the game closes. The replay of the best run of each level is kept next to
+ * the level's table (see getBestReplayFile). Replays are written by the same
+ * thread in the same way (see writeLater). Each write is recorded as a
+ * HighscoreWriteEvent when Java Flight Recorder is running
  * @author Connor
- * @version 5
+ * @version 11
  */
 public class Highscores
 {
-	// Names
-	private String[] names;
-	private String[] levelNames;
+	// Files
+	private static final String FOLDER = "Highscores";
+	private static final String TOTAL_FILE = "Highscores.hs";
+	private static final String TEMPORARY_ENDING = ".tmp";
+
+	// Places in each table
+	private static final int TOTAL_PLACES = 10;
+	private static final int LEVEL_PLACES = 3;
+
+	// How long the writer waits for more changes before writing (in
+	// milliseconds)
+	private static final long WRITE_DELAY = 250;
 
-	// Scores
-	private int[] scores;
-	private int[] levelScores;
+	// Folder the tables are kept in
+	private final String folder;
 
-	// Times
-	private int[] times;
-	private int[] levelTimes;
+	// Tables
+	private final HighscoreTable total;
+	private final HighscoreTable[] levels;
+
+	// Tables changed but not written yet and other files waiting to be
+	// written with what to write to them (both guarded by changed)
+	private final LinkedHashSet<HighscoreTable> changed = new LinkedHashSet<HighscoreTable>();
+	private final LinkedHashMap<File, byte[]> files = new LinkedHashMap<File, byte[]>();
 
 	/**
-	 * Sets the size of all of the arrays
+	 * Reads every table from the highscores folder and starts the thread that
+	 * writes them
+	 * @param numLevels the number of levels
 	 */
-	public Highscores()
+	public Highscores(int numLevels)
 	{
-		names = new String[10];
-		scores = new int[10];
-		times = new int[10];
-		levelNames = new String[3];
-		levelScores = new int[3];
-		levelTimes = new int[3];
+		this(numLevels, FOLDER);
 	}
 
 	/**
-	 * Updates the high score file for the game based on scores and total time.
-	 * Those at the top are the players with the higher score. When two scores
-	 * are the same, whoever has the lower time is closer to the top.
-	 * @param name The name of the player who got the score
-	 * @param score The score the player has
-	 * @param time The time the player took
-	 * @throws IOException if the files could not be read from or written to
+	 * Reads every table from a folder and starts the thread that writes them
+	 * @param numLevels the number of levels
+	 * @param folder the folder the tables are kept in
 	 */
-	public void updateTotalHighScore(String name, int score, int time)
-			throws IOException
+	public Highscores(int numLevels, String folder)
 	{
-		// Replace spaces in the name with underscores
-		name = name.replace(' ', '_');
-
-		BufferedReader reader = new BufferedReader(new FileReader(
-				"HighScores/Highscores.hs"));
-		// read in the player names and scores
-		for (int player = 0; player < names.length; player++)
+		this.folder = folder;
+		total = load(folder, TOTAL_FILE, TOTAL_PLACES);
+		levels = new HighscoreTable[numLevels];
+		for (int level = 0; level < numLevels; level++)
 		{
-			String line = reader.readLine();
-			names[player] = line.split(" ")[0];
-			scores[player] = Integer.valueOf(line.split(" ")[1]);
-			times[player] = Integer.valueOf(line.split(" ")[2]);
+			levels[level] = load(folder, "Level" + (level + 1) + ".hs",
+					LEVEL_PLACES);
 		}
-		reader.close();
 
-		// check to see if the current score is higher than one of the other
-		// scores (indexes toward 0 are the highest and indexes toward 9 are
-		// lowest)
-		int indexWhereScoreIsHigher = -1;
-		for (int player = 0; player < names.length; player++)
+		Thread writer = new Thread(new Runnable()
 		{
-			if (score > scores[player])
-			{
-				indexWhereScoreIsHigher = player;
-				// Exit the loop
-				player = names.length;
-			}
-			else if (score == scores[player])
+			public void run()
 			{
-				// When there is an equal score, compare the times to see who
-				// has the higher score
-				if (time < times[player])
-				{
-					indexWhereScoreIsHigher = player;
-					// Exit the loop
-					player = names.length;
-				}
+				writeChanges();
 			}
-		}
+		}, "Highscore writer");
+		writer.setDaemon(true);
+		writer.start();
 
-		// Print the scores to the highscore file in the new order only if there
-		// is a new order
-		if (indexWhereScoreIsHigher > -1)
+		// Write what is left when the game closes
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
 		{
-			PrintWriter writer = new PrintWriter("Highscores/Highscores.hs");
-			for (int player = 0; player < indexWhereScoreIsHigher; player++)
+			public void run()
 			{
-				writer.print(names[player] + " " + scores[player] + " "
-						+ times[player] + "\n");
-				writer.flush();
+				flush();
 			}
-			// print the new score
-			writer.print(name + " " + score + " " + time + "\n");
-
-			// Print the rest of the scores execpt the last 2(not last one bc it
-			// is no longer top scores and not 2nd last bc that needs to be
-			// printed with out a println so that there is not a new line added
-			// to the level after every game played
-			for (int player = indexWhereScoreIsHigher; player < names.length - 1; player++)
-			{
-				writer.println(names[player] + " " + scores[player] + " "
-						+ times[player]);
-				writer.flush();
-			}
-			writer.close();
-		}
-
-		// Load the new players and scores
-		BufferedReader reReader = new BufferedReader(new FileReader(
-				"HighScores/Highscores.hs"));
-		for (int player = 0; player < names.length; player++)
-		{
-			String line = reReader.readLine();
-			names[player] = line.split(" ")[0];
-			scores[player] = Integer.valueOf(line.split(" ")[1]);
-			times[player] = Integer.valueOf(line.split(" ")[2]);
-		}
-		reReader.close();
-
+		}, "Highscore flush"));
 	}
 
 	/**
-	 * Updates the high score file for the level based on scores and total time.
+	 * Adds a score to the highscores for the game if it is high enough.
 	 * Those at the top are the players with the higher score. When two scores
 	 * are the same, whoever has the lower time is closer to the top.
 	 * @param name The name of the player who got the score
 	 * @param score The score the player has
 	 * @param time The time the player took
+	 * @return the place the score was put in or -1 if it wasn't high enough
+	 */
+	public int updateTotalHighScore(String name, int score, int time)
+	{
+		return update(total, name, score, time);
+	}
+
+	/**
+	 * Adds a score to the highscores for a level if it is high enough. Those
+	 * at the top are the players with the higher score. When two scores are
+	 * the same, whoever has the lower time is closer to the top.
+	 * @param name The name of the player who got the score
+	 * @param score The score the player has
+	 * @param time The time the player took
 	 * @param level The level to update the highscores for
-	 * @throws IOException if the files could not be read from or written to
+	 * @return the place the score was put in or -1 if it wasn't high enough
+	 */
+	public int updateLevelHighScore(String name, int score, int time, int level)
+	{
+		return update(levels[level - 1], name, score, time);
+	}
+
+	/**
+	 * Returns the highscores for the game
+	 * @return the highscores for the game
+	 */
+	public HighscoreTable getTotalHighScores()
+	{
+		return total;
+	}
+
+	/**
+	 * Returns the highscores for a level
+	 * @param level the level (starting at 1)
+	 * @return the highscores for the level
+	 */
+	public HighscoreTable getLevelHighScores(int level)
+	{
+		return levels[level - 1];
+	}
+
+	/**
+	 * Returns the file the replay of the best run of a level is kept in (the
+	 * run at the top of the level's highscores)
+	 * @param level the level (starting at 1)
+	 * @return the file the level's best replay is kept in
 	 */
-	public void updateLevelHighScore(String name, int score, int time, int level)
-			throws IOException
+	public File getBestReplayFile(int level)
 	{
-		// Replace spaces in the name with underscores
-		name = name.replace(' ', '_');
-
-		BufferedReader reader = new BufferedReader(new FileReader(
-				"Highscores/Level" + level
-						+ ".hs"));
-		// read in the player names and scores
-		for (int player = 0; player < levelNames.length; player++)
+		return new File(folder, "Level" + level + ".rpl");
+	}
+
+	/**
+	 * Gives a file to the writer thread to write a little later, the same way
+	 * the tables are written. If the file is given again before it is written
+	 * only the newest bytes are written
+	 * @param file the file to write (its folder is made if it is missing)
+	 * @param bytes what to write to the file
+	 */
+	public void writeLater(File file, byte[] bytes)
+	{
+		synchronized (changed)
+		{
+			files.put(file, bytes);
+			changed.notifyAll();
+		}
+	}
+
+	/**
+	 * Writes every changed table and waiting file now. Only one flush runs at
+	 * a time, so closing the game waits for a write that has already started
+	 */
+	public synchronized void flush()
+	{
+		ArrayList<HighscoreTable> toWrite = new ArrayList<HighscoreTable>();
+		ArrayList<File> filesToWrite = new ArrayList<File>();
+		ArrayList<byte[]> bytesToWrite = new ArrayList<byte[]>();
+		synchronized (changed)
+		{
+			toWrite.addAll(changed);
+			changed.clear();
+			filesToWrite.addAll(files.keySet());
+			bytesToWrite.addAll(files.values());
+			files.clear();
+		}
+
+		for (int table = 0; table < toWrite.size(); table++)
 		{
-			String line = reader.readLine();
-			levelNames[player] = line.split(" ")[0];
-			levelScores[player] = Integer.valueOf(line.split(" ")[1]);
-			levelTimes[player] = Integer.valueOf(line.split(" ")[2]);
+			HighscoreTable theTable = toWrite.get(table);
+			write(new File(theTable.getFile()),
+					theTable.format().getBytes(StandardCharsets.UTF_8));
 		}
-		reader.close();
+		for (int file = 0; file < filesToWrite.size(); file++)
+		{
+			write(filesToWrite.get(file), bytesToWrite.get(file));
+		}
+	}
 
-		// check to see if the current score is higher than one of the other
-		// scores (indexes toward 0 are the highest and indexes toward 2 are
-		// lowest)
-		int indexWhereScoreIsHigher = -1;
-		for (int player = 0; player < levelNames.length; player++)
+	/**
+	 * Adds a score to a table and gives the table to the writer if it
+	 * changed
+	 * @param table the table
+	 * @param name the name of the player who got the score
+	 * @param score the score the player has
+	 * @param time the time the player took
+	 * @return the place the score was put in or -1 if it wasn't high enough
+	 */
+	private int update(HighscoreTable table, String name, int score, int time)
+	{
+		int place = table.add(name, score, time);
+		if (place >= 0)
 		{
-			if (score > levelScores[player])
+			synchronized (changed)
 			{
-				indexWhereScoreIsHigher = player;
-				// Exit the loop
-				player = levelNames.length;
+				changed.add(table);
+				changed.notifyAll();
 			}
-			else if (score == levelScores[player])
+		}
+		return place;
+	}
+
+	/**
+	 * Waits for tables to change and writes them, forever
+	 */
+	private void writeChanges()
+	{
+		while (true)
+		{
+			try
 			{
-				// When there is an equal score, compare the times to see who
-				// has the higher score
-				if (time < levelTimes[player])
+				synchronized (changed)
 				{
-					indexWhereScoreIsHigher = player;
-					// Exit the loop
-					player = levelNames.length;
+					while (changed.isEmpty() && files.isEmpty())
+					{
+						changed.wait();
+					}
 				}
+
+				// Give other changes a moment to arrive so they are written
+				// together
+				Thread.sleep(WRITE_DELAY);
+			}
+			catch (InterruptedException e)
+			{
+				return;
 			}
+			flush();
 		}
+	}
 
-		// Print the scores to the highscore file in the new order only if there
-		// is a new order
-		if (indexWhereScoreIsHigher > -1)
+	/**
+	 * Reads a table from its file. A missing or unreadable file gives a table
+	 * of default players
+	 * @param folder the folder the tables are kept in
+	 * @param name the name of the file in the folder
+	 * @param places the number of places in the table
+	 * @return the table
+	 */
+	private static HighscoreTable load(String folder, String name, int places)
+	{
+		HighscoreTable table = new HighscoreTable(folder + File.separator
+				+ name, places);
+		try
+		{
+			table.parse(new String(Files.readAllBytes(new File(table.getFile())
+					.toPath()), StandardCharsets.UTF_8));
+		}
+		catch (IOException e)
 		{
-			PrintWriter writer = new PrintWriter("Highscores/Level" + level
-					+ ".hs");
-			for (int player = 0; player < indexWhereScoreIsHigher; player++)
+			e.printStackTrace();
+		}
+		return table;
+	}
+
+	/**
+	 * Writes a file to a temporary file and renames it over the file, so the
+	 * file is either the old one or the new one and never half written
+	 * @param toWrite the file to write
+	 * @param bytes what to write to the file
+	 */
+	private static void write(File toWrite, byte[] bytes)
+	{
+		Path file = toWrite.toPath();
+		Path temporary = new File(toWrite.getPath() + TEMPORARY_ENDING)
+				.toPath();
+		HighscoreWriteEvent event = new HighscoreWriteEvent();
+		event.begin();
+		try
+		{
+			if (file.getParent() != null)
 			{
-				writer.print(levelNames[player] + " " + levelScores[player]
-						+ " " + levelTimes[player] + "\n");
-				writer.flush();
+				Files.createDirectories(file.getParent());
 			}
-			// print the new score
-			writer.print(name + " " + score + " " + time + "\n");
-
-			// Print the rest of the scores execpt the last 2(not last one bc it
-			// is no longer top scores and not 2nd last bc that needs to be
-			// printed with out a println so that there is not a new line added
-			// to the level after every game played
-			for (int player = indexWhereScoreIsHigher; player < levelNames.length - 1; player++)
+			Files.write(temporary, bytes);
+			try
 			{
-				writer.println(levelNames[player] + " " + levelScores[player]
-						+ " " + levelTimes[player]);
-				writer.flush();
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
 			}
-			writer.close();
-		}
 
-		// Load the new players and scores
-		BufferedReader reReader = new BufferedReader(new FileReader(
-				"Highscores/Level" + level + ".hs"));
-		for (int player = 0; player < levelNames.length; player++)
+			if (event.shouldCommit())
+			{
+				event.file = toWrite.getPath();
+				event.size = bytes.length;
+				event.commit();
+			}
+		}
+		catch (IOException e)
 		{
-			String line = reReader.readLine();
-			levelNames[player] = line.split(" ")[0];
-			levelScores[player] = Integer.valueOf(line.split(" ")[1]);
-			levelTimes[player] = Integer.valueOf(line.split(" ")[2]);
+			e.printStackTrace();
 		}
-		reReader.close();
 	}
 }
\ No newline at end of file
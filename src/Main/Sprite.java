@@ -0,0 +1,97 @@
+package Main;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A sprite is one image packed into a sprite atlas. It is drawn by copying its
+ * part of the atlas's image (see SpriteBatch)
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class Sprite
+{
+	// Atlas the sprite is packed into
+	private final SpriteAtlas atlas;
+
+	// Part of the atlas's image
+	private int x, y;
+	private final int width, height;
+
+	/**
+	 * Makes a sprite that hasn't been given its place in the atlas yet
+	 * @param atlas the atlas the sprite is packed into
+	 * @param width the width of the sprite
+	 * @param height the height of the sprite
+	 */
+	Sprite(SpriteAtlas atlas, int width, int height)
+	{
+		this.atlas = atlas;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Sets where the sprite is in the atlas's image
+	 * @param x the x coordinate of the sprite in the atlas
+	 * @param y the y coordinate of the sprite in the atlas
+	 */
+	void setPosition(int x, int y)
+	{
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * Returns the atlas the sprite is packed into
+	 * @return the atlas the sprite is packed into
+	 */
+	public SpriteAtlas getAtlas()
+	{
+		return atlas;
+	}
+
+	/**
+	 * Returns the atlas's image (the sprite is only part of it)
+	 * @return the atlas's image
+	 */
+	public BufferedImage getAtlasImage()
+	{
+		return atlas.getImage();
+	}
+
+	/**
+	 * Returns the x coordinate of the sprite in the atlas's image
+	 * @return the x coordinate of the sprite in the atlas's image
+	 */
+	public int getX()
+	{
+		return x;
+	}
+
+	/**
+	 * Returns the y coordinate of the sprite in the atlas's image
+	 * @return the y coordinate of the sprite in the atlas's image
+	 */
+	public int getY()
+	{
+		return y;
+	}
+
+	/**
+	 * Returns the width of the sprite
+	 * @return the width of the sprite
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/**
+	 * Returns the height of the sprite
+	 * @return the height of the sprite
+	 */
+	public int getHeight()
+	{
+		return height;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package Main;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A sprite atlas packs many small images into one image when the game starts,
+ * so drawing them all copies from one place in memory instead of dozens of
+ * separate images. Images are added first and get a sprite back, then the
+ * atlas is packed. Images are put on shelves (rows) from the tallest to the
+ * shortest, filling each shelf from left to right
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class SpriteAtlas
+{
+	// Width of the atlas's image
+	private final int width;
+
+	// Images added and their sprites
+	private final ArrayList<BufferedImage> images = new ArrayList<BufferedImage>();
+	private final ArrayList<Sprite> sprites = new ArrayList<Sprite>();
+
+	// Packed image
+	private BufferedImage image;
+
+	/**
+	 * Makes an empty atlas
+	 * @param width the width of the atlas's image (at least as wide as the
+	 *            widest image added)
+	 */
+	public SpriteAtlas(int width)
+	{
+		this.width = width;
+	}
+
+	/**
+	 * Adds an image to the atlas. The sprite can't be drawn until the atlas is
+	 * packed
+	 * @param image the image to add
+	 * @return the sprite for the image
+	 * @throws IllegalStateException if the atlas has already been packed
+	 * @throws IllegalArgumentException if the image is wider than the atlas
+	 */
+	public Sprite add(BufferedImage image)
+	{
+		if (this.image != null)
+			throw new IllegalStateException("The atlas is already packed");
+		if (image.getWidth() > width)
+			throw new IllegalArgumentException("The image is wider than the atlas");
+
+		Sprite sprite = new Sprite(this, image.getWidth(), image.getHeight());
+		images.add(image);
+		sprites.add(sprite);
+		return sprite;
+	}
+
+	/**
+	 * Places every sprite and copies the images into the atlas's image
+	 */
+	public void pack()
+	{
+		// Tallest images first so each shelf wastes as little as possible
+		Integer[] order = new Integer[images.size()];
+		for (int index = 0; index < order.length; index++)
+		{
+			order[index] = index;
+		}
+		Arrays.sort(order, new Comparator<Integer>()
+		{
+			public int compare(Integer first, Integer second)
+			{
+				return sprites.get(second).getHeight()
+						- sprites.get(first).getHeight();
+			}
+		});
+
+		int x = 0, shelfY = 0, shelfHeight = 0;
+		for (int index = 0; index < order.length; index++)
+		{
+			Sprite sprite = sprites.get(order[index]);
+			if (x + sprite.getWidth() > width)
+			{
+				// Start a new shelf
+				shelfY += shelfHeight;
+				x = 0;
+				shelfHeight = 0;
+			}
+			sprite.setPosition(x, shelfY);
+			x += sprite.getWidth();
+			shelfHeight = Math.max(shelfHeight, sprite.getHeight());
+		}
+
+		image = Assets.createImage(width, Math.max(1, shelfY + shelfHeight),
+				Transparency.TRANSLUCENT);
+		Graphics2D g = image.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		for (int index = 0; index < images.size(); index++)
+		{
+			Sprite sprite = sprites.get(index);
+			g.drawImage(images.get(index), sprite.getX(), sprite.getY(), null);
+		}
+		g.dispose();
+
+		// The images aren't needed once they are copied
+		images.clear();
+	}
+
+	/**
+	 * Returns the atlas's image
+	 * @return the atlas's image (null until the atlas is packed)
+	 */
+	public BufferedImage getImage()
+	{
+		return image;
+	}
+}
\ No newline at end of file
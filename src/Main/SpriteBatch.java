@@ -0,0 +1,90 @@
+package Main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * A sprite batch collects the sprites drawn during a frame and draws them all
+ * at once, grouped by the atlas they come from so the graphics copy from one
+ * image at a time. Sprites from the same atlas are drawn in the order they
+ * were added, so sprites that overlap still cover each other the same way
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class SpriteBatch
+{
+	// Sprites drawn since the last flush and where they go
+	private Sprite[] sprites = new Sprite[64];
+	private int[] xs = new int[64];
+	private int[] ys = new int[64];
+	private int size;
+
+	// Atlases used since the last flush
+	private SpriteAtlas[] atlases = new SpriteAtlas[4];
+	private int numAtlases;
+
+	/**
+	 * Adds a sprite to be drawn at the next flush
+	 * @param sprite the sprite
+	 * @param x the x coordinate to draw the sprite at
+	 * @param y the y coordinate to draw the sprite at
+	 */
+	public void draw(Sprite sprite, int x, int y)
+	{
+		if (size == sprites.length)
+		{
+			sprites = Arrays.copyOf(sprites, size * 2);
+			xs = Arrays.copyOf(xs, size * 2);
+			ys = Arrays.copyOf(ys, size * 2);
+		}
+		sprites[size] = sprite;
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+
+		// Remember the atlas the first time it is used
+		SpriteAtlas atlas = sprite.getAtlas();
+		for (int index = 0; index < numAtlases; index++)
+		{
+			if (atlases[index] == atlas)
+				return;
+		}
+		if (numAtlases == atlases.length)
+		{
+			atlases = Arrays.copyOf(atlases, numAtlases * 2);
+		}
+		atlases[numAtlases++] = atlas;
+	}
+
+	/**
+	 * Draws every sprite added since the last flush, one atlas at a time
+	 * @param g the graphics to draw with
+	 */
+	public void flush(Graphics2D g)
+	{
+		for (int atlas = 0; atlas < numAtlases; atlas++)
+		{
+			BufferedImage image = atlases[atlas].getImage();
+			for (int index = 0; index < size; index++)
+			{
+				Sprite sprite = sprites[index];
+				if (sprite.getAtlas() == atlases[atlas])
+				{
+					int x = xs[index];
+					int y = ys[index];
+					g.drawImage(image, x, y, x + sprite.getWidth(),
+							y + sprite.getHeight(), sprite.getX(),
+							sprite.getY(), sprite.getX() + sprite.getWidth(),
+							sprite.getY() + sprite.getHeight(), null);
+				}
+			}
+			atlases[atlas] = null;
+		}
+
+		// Let go of the sprites so they aren't kept by the batch
+		Arrays.fill(sprites, 0, size, null);
+		size = 0;
+		numAtlases = 0;
+	}
+}
\ No newline at end of file
@@ -1,24 +1,20 @@
 package Player;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
-import javax.imageio.ImageIO;
-
-import GameState.LevelState;
 import Main.GamePanel;
-import TileMap.Button;
 import TileMap.Doors;
-import TileMap.Switch;
 import TileMap.Tile;
 import TileMap.TileMap;
 import TileMap.Treasures;
 
 /**
- * The Player object
+ * The Player object. A player only needs its image to be drawn so it can be
+ * moved without loading any images (for example by a Simulation)
  * @author Raya and Connor
- * @version 11
+ * @version 15
  */
 public class Player
 {
@@ -31,6 +27,8 @@ public class Player
 	// for collisions
 	private double x;
 	private double y;
+	private double previousX;
+	private double previousY;
 	private double xDirection;
 	private double yDirection;
 
@@ -98,17 +96,13 @@ public class Player
 
 	/**
 	 * Initializes the dimensions of the player and the movement speeds Sets the
-	 * player to either a buoy or a grill Loads the player image
+	 * player to either a buoy or a grill
 	 * @param tileMap The tilemap being used
-	 * @param image The file location of the image
 	 * @param width The width of the player
 	 * @param height The height of the player
 	 * @param player The type of player
-	 * @throws IOException if the image file can not be found
 	 */
-	public Player(TileMap tileMap, String image, int width, int height,
-			int player)
-					throws IOException
+	public Player(TileMap tileMap, int width, int height, int player)
 	{
 		this.tileMap = tileMap;
 		this.tileSize = tileMap.getTileSize();
@@ -127,10 +121,15 @@ public class Player
 		stopJumpSpeed = 0.3;
 
 		dead = false;
+	}
 
-		// Load sprites
-		this.image = ImageIO.read(getClass()
-				.getResourceAsStream(image));
+	/**
+	 * Sets the image the player is drawn with
+	 * @param image the image to draw the player with
+	 */
+	public void setImage(BufferedImage image)
+	{
+		this.image = image;
 	}
 
 	/**
@@ -474,22 +473,10 @@ public class Player
 			}
 		}
 
-		// Check if the player hits a laser
-		for (int buttonLaser = 0; buttonLaser < TileMap.buttons.size(); buttonLaser++)
-		{
-			Button button = TileMap.buttons.get(buttonLaser);
-			if (button.hasPlayerInLaser((int) x, (int) y))
-			{
-				dead = true;
-			}
-		}
-		for (int switchLaser = 0; switchLaser < TileMap.switches.size(); switchLaser++)
+		// Check if the player hits a laser (only the ones in the player's row)
+		if (tileMap.getLasers().hits((int) x, (int) y))
 		{
-			Switch aSwitch = TileMap.switches.get(switchLaser);
-			if (aSwitch.hasPlayerInLaser((int) x, (int) y))
-			{
-				dead = true;
-			}
+			dead = true;
 		}
 	}
 
@@ -511,6 +498,15 @@ public class Player
 		return (int) y + 16;
 	}
 
+	/**
+	 * Returns if the player is in the air (jumping or falling)
+	 * @return if the player is in the air
+	 */
+	public boolean isInAir()
+	{
+		return jumping || falling;
+	}
+
 	/**
 	 * Set the players position
 	 * @param x Players x coordinate
@@ -520,6 +516,10 @@ public class Player
 	{
 		this.x = x;
 		this.y = y;
+
+		// Don't draw the player sliding over from where it was
+		previousX = x;
+		previousY = y;
 	}
 
 	/**
@@ -555,6 +555,36 @@ public class Player
 		}
 	}
 
+	/**
+	 * Saves everything about the player that changes while the level is played
+	 * @return the player's state
+	 */
+	public PlayerState saveState()
+	{
+		return new PlayerState(x, y, previousX, previousY, xDirection,
+				yDirection, left, right, jumping, falling, currentTileType, dead);
+	}
+
+	/**
+	 * Puts the player back into a saved state
+	 * @param state the state to put the player in
+	 */
+	public void restoreState(PlayerState state)
+	{
+		x = state.x;
+		y = state.y;
+		previousX = state.previousX;
+		previousY = state.previousY;
+		xDirection = state.xDirection;
+		yDirection = state.yDirection;
+		left = state.left;
+		right = state.right;
+		jumping = state.jumping;
+		falling = state.falling;
+		currentTileType = state.currentTileType;
+		dead = state.dead;
+	}
+
 	/**
 	 * Returns if the player can take the treasure
 	 * @param treasure the treasure in question
@@ -622,32 +652,65 @@ public class Player
 	}
 
 	/**
-	 * Update the players movements and positions and check for collisions
-	 * @throws IOException if reset() can not find the levelState
+	 * Update the players movements and positions and check for collisions.
+	 * Whoever is running the level has to reset it before updating a dead
+	 * player
 	 */
-	public void update() throws IOException
+	public void update()
 	{
-		// If the player dies reset the level
-		if (dead)
-		{
-			LevelState.reset();
-			dead = false;
-		}
-
 		// update position
+		previousX = x;
+		previousY = y;
 		move();
 		checkCollision();
-		setPosition(x, y);
 	}
 
 	/**
-	 * Draw the player
+	 * Draw the player between its last position and its current position
 	 * @param g The graphics to draw with
+	 * @param interpolation How far between the last tick and the next tick the
+	 *            game is (0 draws the last position, 1 the current position)
+	 */
+	public void draw(Graphics2D g, double interpolation)
+	{
+		g.drawImage(image, getDrawX(interpolation), getDrawY(interpolation),
+				null);
+	}
+
+	/**
+	 * Sets the given rectangle to the area the player is drawn in
+	 * @param interpolation How far between the last tick and the next tick the
+	 *            game is
+	 * @param bounds The rectangle to set
+	 */
+	public void getDrawBounds(double interpolation, Rectangle bounds)
+	{
+		bounds.setBounds(getDrawX(interpolation), getDrawY(interpolation),
+				image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * Returns the x coordinate the player is drawn at
+	 * @param interpolation How far between the last tick and the next tick the
+	 *            game is
+	 * @return the x coordinate the player is drawn at
+	 */
+	private int getDrawX(double interpolation)
+	{
+		double drawX = previousX + (x - previousX) * interpolation;
+		return (int) (drawX - tileWidth / 2);
+	}
+
+	/**
+	 * Returns the y coordinate the player is drawn at
+	 * @param interpolation How far between the last tick and the next tick the
+	 *            game is
+	 * @return the y coordinate the player is drawn at
 	 */
-	public void draw(Graphics2D g)
+	private int getDrawY(double interpolation)
 	{
-		g.drawImage(image, (int) (x - tileWidth / 2),
-				(int) (y - tileHeight / 2), null);
+		double drawY = previousY + (y - previousY) * interpolation;
+		return (int) (drawY - tileHeight / 2);
 	}
 
 }
\ No newline at end of file
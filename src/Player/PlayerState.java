@@ -0,0 +1,110 @@
+package Player;
+
+/**
+ * A player state is everything about a player that changes while a level is
+ * played (position, speed, the keys it is moving with and if it is dead). It is
+ * saved with Player.saveState and put back with Player.restoreState so a
+ * level can be tried from the same point more than once
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class PlayerState
+{
+	// Position and movement
+	final double x, y;
+	final double previousX, previousY;
+	final double xDirection, yDirection;
+
+	// Movement
+	final boolean left, right, jumping, falling;
+
+	// The tile the player was on when it last checked for collisions
+	final int currentTileType;
+
+	// Player
+	final boolean dead;
+
+	/**
+	 * Saves a player's state (see Player.saveState)
+	 */
+	PlayerState(double x, double y, double previousX, double previousY,
+			double xDirection, double yDirection, boolean left, boolean right,
+			boolean jumping, boolean falling, int currentTileType, boolean dead)
+	{
+		this.x = x;
+		this.y = y;
+		this.previousX = previousX;
+		this.previousY = previousY;
+		this.xDirection = xDirection;
+		this.yDirection = yDirection;
+		this.left = left;
+		this.right = right;
+		this.jumping = jumping;
+		this.falling = falling;
+		this.currentTileType = currentTileType;
+		this.dead = dead;
+	}
+
+	/**
+	 * Returns the x coordinate of the top left of the player
+	 * @return the x coordinate of the top left of the player
+	 */
+	public double getX()
+	{
+		return x;
+	}
+
+	/**
+	 * Returns the y coordinate of the top left of the player
+	 * @return the y coordinate of the top left of the player
+	 */
+	public double getY()
+	{
+		return y;
+	}
+
+	/**
+	 * Returns how far the player moves across each tick
+	 * @return how far the player moves across each tick
+	 */
+	public double getXDirection()
+	{
+		return xDirection;
+	}
+
+	/**
+	 * Returns how far the player moves down each tick
+	 * @return how far the player moves down each tick
+	 */
+	public double getYDirection()
+	{
+		return yDirection;
+	}
+
+	/**
+	 * Returns if the player is jumping
+	 * @return if the player is jumping
+	 */
+	public boolean isJumping()
+	{
+		return jumping;
+	}
+
+	/**
+	 * Returns if the player is falling
+	 * @return if the player is falling
+	 */
+	public boolean isFalling()
+	{
+		return falling;
+	}
+
+	/**
+	 * Returns if the player is dead
+	 * @return if the player is dead
+	 */
+	public boolean isDead()
+	{
+		return dead;
+	}
+}
\ No newline at end of file
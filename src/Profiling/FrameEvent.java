@@ -0,0 +1,41 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A frame event is recorded by Java Flight Recorder for every frame the game
+ * runs. Its duration is the whole frame and it holds how long each phase of
+ * the frame took (see FrameTimer), so slow frames can be lined up with garbage
+ * collection and disk stalls in the same recording
+ * @author Raya and Connor
+ * @version 1
+ */
+@Name("FireGrillWaterBuoy.Frame")
+@Label("Frame")
+@Category({ "Fire Grill and Water Buoy", "Frames" })
+@Description("One frame of the game loop")
+@StackTrace(false)
+public class FrameEvent extends Event
+{
+	@Label("Update")
+	@Timespan
+	public long update;
+
+	@Label("Render")
+	@Timespan
+	public long render;
+
+	@Label("Present")
+	@Timespan
+	public long present;
+
+	@Label("Sleep")
+	@Timespan
+	public long sleep;
+}
\ No newline at end of file
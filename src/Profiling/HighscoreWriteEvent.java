@@ -0,0 +1,29 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A highscore write event is recorded by Java Flight Recorder each time a
+ * highscore table is written to its file. Its duration is how long the disk
+ * took
+ * @author Raya and Connor
+ * @version 1
+ */
+@Name("FireGrillWaterBuoy.HighscoreWrite")
+@Label("Highscore Write")
+@Category({ "Fire Grill and Water Buoy", "Highscores" })
+@Description("Writing a highscore table to its file")
+public class HighscoreWriteEvent extends Event
+{
+	@Label("File")
+	public String file;
+
+	@Label("Size")
+	@DataAmount
+	public long size;
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A level load event is recorded by Java Flight Recorder each time a level's
+ * map, obstacles, treasures and images are loaded. Its duration is how long
+ * the load took and its thread shows if the level was prefetched in the
+ * background or loaded while the player waited
+ * @author Raya and Connor
+ * @version 1
+ */
+@Name("FireGrillWaterBuoy.LevelLoad")
+@Label("Level Load")
+@Category({ "Fire Grill and Water Buoy", "Level" })
+@Description("Loading a level's map, obstacles, treasures and images")
+public class LevelLoadEvent extends Event
+{
+	@Label("Level")
+	public int level;
+}
\ No newline at end of file
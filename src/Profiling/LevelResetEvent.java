@@ -0,0 +1,31 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A level reset event is recorded by Java Flight Recorder each time a level is
+ * put back to how it started, along with why it was reset
+ * @author Raya and Connor
+ * @version 1
+ */
+@Name("FireGrillWaterBuoy.LevelReset")
+@Label("Level Reset")
+@Category({ "Fire Grill and Water Buoy", "Level" })
+@Description("A level being put back to how it started")
+public class LevelResetEvent extends Event
+{
+	// Causes
+	public static final String RESET_KEY = "Reset key";
+	public static final String BUOY_DIED = "Buoy died";
+	public static final String GRILL_DIED = "Grill died";
+
+	@Label("Level")
+	public int level;
+
+	@Label("Cause")
+	public String cause;
+}
\ No newline at end of file
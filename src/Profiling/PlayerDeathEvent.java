@@ -0,0 +1,32 @@
+package Profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A player death event is recorded by Java Flight Recorder each time the grill
+ * or the buoy dies, along with where it died
+ * @author Raya and Connor
+ * @version 1
+ */
+@Name("FireGrillWaterBuoy.PlayerDeath")
+@Label("Player Death")
+@Category({ "Fire Grill and Water Buoy", "Level" })
+@Description("The grill or the buoy dying")
+public class PlayerDeathEvent extends Event
+{
+	@Label("Level")
+	public int level;
+
+	@Label("Player")
+	public String player;
+
+	@Label("X")
+	public int x;
+
+	@Label("Y")
+	public int y;
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import Player.Player;
+import Player.PlayerState;
+import TileMap.Door;
+import TileMap.Switch;
+import TileMap.Tile;
+import TileMap.TileMap;
+
+/**
+ * A distance map finds how many tiles one player is from its door, going
+ * around the lasers of the switches that are on. It is used by the
+ * LevelVerifier to guess which states are closest to finishing the level.
+ * Players can always fall down but can only go across or up into a tile that
+ * has something to stand on close enough below it (so they can't fly across
+ * gaps), and can't go into blocked tiles or a liquid that kills them. The
+ * distances to each goal with each set of lasers are found the first time
+ * they are needed and kept
+ * @author Raya and Connor
+ * @version 2
+ */
+final class DistanceMap
+{
+	// Distance to tiles the goal can't be reached from
+	static final int FAR = 10000;
+
+	// Tiles a player can jump up and across
+	private static final int JUMP_TILES = 3;
+	private static final int JUMP_ACROSS_TILES = 3;
+
+	// Added when the lasers keep a player from its door and it can't get to a
+	// switch that turns one of them off
+	private static final int BLOCKED_BY_LASERS = 100;
+
+	// Map
+	private final TileMap tileMap;
+	private final int numRows, numColumns, tileSize;
+	private final boolean[] enterable;
+	private final boolean[] supported;
+
+	// Goals
+	private final int door;
+	private final ArrayList<Switch> switches;
+	private final int player;
+
+	// Distances to each goal for each set of lasers that are on
+	private final HashMap<Long, int[]> distances = new HashMap<Long, int[]>();
+
+	/**
+	 * Makes a distance map for one of the players
+	 * @param tileMap the map
+	 * @param player the player (Player.BUOY or Player.GRILL)
+	 */
+	DistanceMap(TileMap tileMap, int player)
+	{
+		this.tileMap = tileMap;
+		this.player = player;
+		numRows = tileMap.getNumRows();
+		numColumns = tileMap.getNumColumns();
+		tileSize = tileMap.getTileSize();
+		switches = tileMap.getSwitches();
+
+		// The door opens when the middle of the player is in its bottom half
+		Door playerDoor = player == Player.BUOY ? tileMap.getBlueDoor()
+				: tileMap.getRedDoor();
+		door = tile(playerDoor.getX() + tileSize / 2, playerDoor.getY()
+				+ tileSize * 3 / 2);
+
+		int deadly = player == Player.BUOY ? Tile.LAVA : Tile.WATER;
+		enterable = new boolean[numRows * numColumns];
+		supported = new boolean[numRows * numColumns];
+		for (int row = 0; row < numRows; row++)
+		{
+			for (int column = 0; column < numColumns; column++)
+			{
+				int type = tileMap.getType(row, column);
+				enterable[row * numColumns + column] = type != Tile.BLOCKED
+						&& type != deadly && type != Tile.ACID;
+				supported[row * numColumns + column] = isSupported(row, column);
+			}
+		}
+	}
+
+	/**
+	 * Returns how many tiles the player is from its door. If the lasers keep
+	 * it from its door it has to go through a switch it can flip first
+	 * @param state the player's state
+	 * @param lasers the switches with their lasers on (one bit for each)
+	 * @return how many tiles the player is from its door
+	 */
+	int distance(PlayerState state, int lasers)
+	{
+		int tile = tile((int) state.getX() + tileSize / 2, (int) state.getY()
+				+ tileSize / 2);
+		if (tile < 0)
+		{
+			return FAR;
+		}
+
+		int distance = distances(door, lasers)[tile];
+		if (distance < FAR)
+		{
+			return distance;
+		}
+
+		for (int aSwitch = 0; aSwitch < switches.size(); aSwitch++)
+		{
+			Switch theSwitch = switches.get(aSwitch);
+			if (theSwitch.canBeFlippedBy(player))
+			{
+				int switchTile = tile(theSwitch.getX() + tileSize / 2,
+						theSwitch.getY() + tileSize / 2);
+				int toSwitch = distances(switchTile, lasers)[tile];
+				int toDoor = distances(door, lasers ^ 1 << aSwitch)[switchTile];
+				distance = Math.min(distance, toSwitch + toDoor);
+			}
+		}
+		if (distance < FAR)
+		{
+			return distance;
+		}
+
+		distance = distances(door, 0)[tile];
+		if (distance < FAR)
+		{
+			return distance + BLOCKED_BY_LASERS;
+		}
+		return FAR;
+	}
+
+	/**
+	 * Returns the tile at the given point
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return the row * the number of columns + the column of the tile, or -1
+	 *         if the point is not in the map
+	 */
+	private int tile(int x, int y)
+	{
+		int row = y / tileSize;
+		int column = x / tileSize;
+		if (x < 0 || y < 0 || row >= numRows || column >= numColumns)
+		{
+			return -1;
+		}
+		return row * numColumns + column;
+	}
+
+	/**
+	 * Returns how many tiles each tile is from the goal, searching backwards
+	 * from the goal
+	 * @param goal the tile to get to
+	 * @param lasers the switches with their lasers on (one bit for each)
+	 * @return how many tiles each tile is from the goal (FAR if it can't be
+	 *         reached)
+	 */
+	private int[] distances(int goal, int lasers)
+	{
+		Long key = (long) goal << 32 | lasers & 0xFFFFFFFFL;
+		int[] found = distances.get(key);
+		if (found != null)
+		{
+			return found;
+		}
+
+		// Lasers that are on block their tiles
+		boolean[] canEnter = enterable;
+		if (lasers != 0)
+		{
+			canEnter = Arrays.copyOf(enterable, enterable.length);
+			for (int aSwitch = 0; aSwitch < switches.size(); aSwitch++)
+			{
+				if ((lasers & 1 << aSwitch) != 0)
+				{
+					Switch theSwitch = switches.get(aSwitch);
+					int laser = tile(theSwitch.getLaserX(), theSwitch.getLaserY());
+					for (int across = 0; across < theSwitch.getLaserSize()
+							&& laser >= 0; across++)
+					{
+						canEnter[laser + across] = false;
+					}
+				}
+			}
+		}
+
+		found = new int[numRows * numColumns];
+		Arrays.fill(found, FAR);
+		int[] queue = new int[found.length];
+		int head = 0, tail = 0;
+		found[goal] = 0;
+		queue[tail++] = goal;
+
+		while (head < tail)
+		{
+			int tile = queue[head++];
+			int row = tile / numColumns;
+			int column = tile % numColumns;
+			int distance = found[tile] + 1;
+
+			// Tiles the player could have come from: above (falling) and
+			// across or below (if this tile can be jumped to)
+			for (int from = 0; from < 4; from++)
+			{
+				int fromRow = row, fromColumn = column;
+				if (from == 0)
+					fromRow--;
+				else if (!supported[tile])
+					break;
+				else if (from == 1)
+					fromColumn--;
+				else if (from == 2)
+					fromColumn++;
+				else
+					fromRow++;
+
+				int fromTile = fromRow * numColumns + fromColumn;
+				if (fromRow >= 0 && fromRow < numRows && fromColumn >= 0
+						&& fromColumn < numColumns && found[fromTile] == FAR
+						&& canEnter[fromTile])
+				{
+					found[fromTile] = distance;
+					queue[tail++] = fromTile;
+				}
+			}
+		}
+
+		distances.put(key, found);
+		return found;
+	}
+
+	/**
+	 * Returns if a player can jump to the tile, which needs ground or a liquid
+	 * close enough below it or below the tiles near it (players can jump up
+	 * and across at the same time)
+	 * @param row the row of the tile
+	 * @param column the column of the tile
+	 * @return if a player can jump to the tile
+	 */
+	private boolean isSupported(int row, int column)
+	{
+		int firstColumn = Math.max(0, column - JUMP_ACROSS_TILES);
+		int lastColumn = Math.min(numColumns - 1, column + JUMP_ACROSS_TILES);
+		for (int below = 1; below <= JUMP_TILES && row + below < numRows; below++)
+		{
+			for (int across = firstColumn; across <= lastColumn; across++)
+			{
+				int type = tileMap.getType(row + below, across);
+				if (type == Tile.BLOCKED || type >= Tile.LAVA)
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package Simulation;
+
+/**
+ * A key set remembers 64 bit keys in one array with open addressing, so the
+ * LevelVerifier can remember millions of searched states without a Long
+ * object and a map entry for each one. Keys are never taken out
+ * @author Raya and Connor
+ * @version 1
+ */
+final class KeySet
+{
+	// Stands in for the key 0, which marks empty slots
+	private static final long ZERO = 0x5DEECE66DL;
+
+	// Slots (the length is always a power of 2 and at most half of the slots
+	// are used)
+	private long[] keys = new long[1 << 12];
+	private int size;
+
+	/**
+	 * Adds a key if it hasn't been added
+	 * @param key the key
+	 * @return if the key was added (it wasn't already in the set)
+	 */
+	boolean add(long key)
+	{
+		if (key == 0)
+		{
+			key = ZERO;
+		}
+		if (size * 2 >= keys.length)
+		{
+			grow();
+		}
+
+		int mask = keys.length - 1;
+		int slot = slot(key, mask);
+		while (keys[slot] != 0)
+		{
+			if (keys[slot] == key)
+			{
+				return false;
+			}
+			slot = slot + 1 & mask;
+		}
+		keys[slot] = key;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the number of keys added
+	 * @return the number of keys added
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the first slot to look for a key in
+	 * @param key the key (already well mixed)
+	 * @param mask the number of slots - 1
+	 * @return the first slot to look in
+	 */
+	private static int slot(long key, int mask)
+	{
+		return (int) (key ^ key >>> 32) & mask;
+	}
+
+	/**
+	 * Doubles the number of slots and puts every key back in
+	 */
+	private void grow()
+	{
+		long[] oldKeys = keys;
+		keys = new long[oldKeys.length * 2];
+		int mask = keys.length - 1;
+		for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++)
+		{
+			long key = oldKeys[oldSlot];
+			if (key != 0)
+			{
+				int slot = slot(key, mask);
+				while (keys[slot] != 0)
+				{
+					slot = slot + 1 & mask;
+				}
+				keys[slot] = key;
+			}
+		}
+	}
+}
\ No newline at end of file
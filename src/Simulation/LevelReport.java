@@ -0,0 +1,160 @@
+package Simulation;
+
+/**
+ * A level report is what the LevelVerifier found out about one level: if it
+ * can be finished, the keys that finish it (the witness) and how much
+ * searching it took. A level that wasn't solved was either searched
+ * completely (so it can't be finished) or reached the cap on states searched
+ * (so it isn't known)
+ * @author Raya and Connor
+ * @version 2
+ */
+public class LevelReport
+{
+	// Level
+	private final String level;
+
+	// Result
+	private final boolean solved;
+	private final int[] witness;
+	private final boolean redDiamond, blueDiamond;
+	private final boolean capReached;
+
+	// Search
+	private final int statesSearched;
+	private final long time;
+
+	/**
+	 * Makes a report
+	 * @param level the name of the level
+	 * @param witness the input for each tick that finishes the level or null
+	 *            if none was found
+	 * @param redDiamond if the grill takes the red diamond in the witness
+	 * @param blueDiamond if the buoy takes the blue diamond in the witness
+	 * @param capReached if the search stopped because it searched too many
+	 *            states
+	 * @param statesSearched the number of states searched
+	 * @param time how long the search took in milliseconds
+	 */
+	public LevelReport(String level, int[] witness, boolean redDiamond,
+			boolean blueDiamond, boolean capReached, int statesSearched,
+			long time)
+	{
+		this.level = level;
+		this.witness = witness;
+		solved = witness != null;
+		this.redDiamond = redDiamond;
+		this.blueDiamond = blueDiamond;
+		this.capReached = capReached;
+		this.statesSearched = statesSearched;
+		this.time = time;
+	}
+
+	/**
+	 * Returns the name of the level
+	 * @return the name of the level
+	 */
+	public String getLevel()
+	{
+		return level;
+	}
+
+	/**
+	 * Returns if a way to finish the level was found
+	 * @return if a way to finish the level was found
+	 */
+	public boolean isSolved()
+	{
+		return solved;
+	}
+
+	/**
+	 * Returns if the search stopped because it searched too many states
+	 * before finishing the level or running out of states to search
+	 * @return if the search reached the cap on states searched
+	 */
+	public boolean isCapReached()
+	{
+		return capReached;
+	}
+
+	/**
+	 * Returns the input for each tick that finishes the level (see the inputs
+	 * in Simulation)
+	 * @return the witness or null if the level wasn't solved
+	 */
+	public int[] getWitness()
+	{
+		return witness;
+	}
+
+	/**
+	 * Returns the number of states searched
+	 * @return the number of states searched
+	 */
+	public int getStatesSearched()
+	{
+		return statesSearched;
+	}
+
+	/**
+	 * Returns how long the search took in milliseconds
+	 * @return how long the search took in milliseconds
+	 */
+	public long getTime()
+	{
+		return time;
+	}
+
+	/**
+	 * Returns the witness as runs of the same input written as
+	 * ticks*input
+	 * @return the witness as runs of the same input
+	 */
+	public String witnessString()
+	{
+		StringBuilder runs = new StringBuilder();
+		int tick = 0;
+		while (tick < witness.length)
+		{
+			int run = tick;
+			while (run < witness.length && witness[run] == witness[tick])
+			{
+				run++;
+			}
+			if (runs.length() > 0)
+			{
+				runs.append(' ');
+			}
+			runs.append(run - tick).append('*').append(witness[tick]);
+			tick = run;
+		}
+		return runs.toString();
+	}
+
+	/**
+	 * Returns the report as text. Solved levels have the witness on the next
+	 * line
+	 * @return the report as text
+	 */
+	public String toString()
+	{
+		if (capReached)
+		{
+			return String.format(
+					"%-12s CAP REACHED, not known (%d states, %d ms)", level,
+					statesSearched, time);
+		}
+		if (!solved)
+		{
+			return String.format(
+					"%-12s UNSOLVABLE, every state searched (%d states, %d ms)",
+					level, statesSearched, time);
+		}
+		return String.format(
+				"%-12s solved in %d ticks (%d states, %d ms) diamonds: red %s"
+						+ " blue %s%n  %s", level, witness.length,
+				statesSearched, time, redDiamond ? "yes" : "no",
+				blueDiamond ? "yes" : "no", witnessString());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,730 @@
+package Simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import Player.Player;
+import Player.PlayerState;
+import TileMap.LevelCompiler;
+import TileMap.Switch;
+import TileMap.Tile;
+import TileMap.TileMap;
+
+/**
+ * The level verifier checks that levels can still be finished. Each level is
+ * searched on its own thread of a ForkJoinPool using a Simulation, so the real
+ * player physics decide what is possible. The players take turns: in a turn
+ * one player makes moves while the other waits, until both are standing still
+ * again. The players only affect each other through the switches and
+ * buttons, so each turn is a search of one player's MoveGraph (where each
+ * move is only simulated once for the whole level) and the turns are searched
+ * best first by how far the players are from their doors. One player can
+ * stand on a button for a turn while the other goes through its laser. Every
+ * turn found is played again from where it really starts, so a level is only
+ * solved by keys that finish it. States are told apart by SearchKeys of
+ * their players' positions and speeds (rounded, coarsely at first then more
+ * finely if that doesn't finish the level), the obstacles and the diamonds
+ * taken. The search is not complete (positions are rounded and the players
+ * never move at the same time), so a level it doesn't finish isn't known to
+ * be unsolvable. With no arguments every level in Resources/Levels is
+ * checked, otherwise the arguments are the .lvl files or folders of .lvl
+ * files to check
+ * @author Raya and Connor
+ * @version 3
+ */
+public class LevelVerifier extends RecursiveTask<LevelReport>
+{
+	private static final long serialVersionUID = 1L;
+
+	// Players (in the order they are in MOVES)
+	private static final int BUOY = 0;
+	private static final int GRILL = 1;
+	private static final int NOBODY = -1;
+
+	// Search (a state is a place in a MoveGraph that its moves are simulated
+	// from)
+	private static final int MAX_STATES = 1000000;
+	private static final int HEURISTIC_WEIGHT = 2;
+
+	// How far a player moves in the ticks of a short move (for the estimate)
+	private static final int MOVE_PIXELS = 24;
+
+	// Passes: how many pixels positions are rounded to in keys (coarse steps
+	// search far fewer states but can miss a narrow way through, so each
+	// pass is finer than the last) and if every place a player can stop ends
+	// a turn
+	private static final int[] POSITION_STEPS = { 32, 16, 8, 8 };
+	private static final boolean[] EVERY_STOP = { false, false, false, true };
+	private static final int MAX_SETTLE_TICKS = 600;
+
+	// How long a player can take to stop after its last move ends a turn
+	private static final int MAX_STOP_TICKS = 30;
+
+	// The parts of an entry in a tree of moves that end a turn: the entry it
+	// is reached from, the move that reaches it and if the turn ends there
+	private static final int PARENT = 0;
+	private static final int MOVE = 1;
+	private static final int ENDS = 2;
+
+	// Level
+	private final File levelFile;
+
+	// Searching the level
+	private Simulation simulation;
+	private DistanceMap[] distances;
+	private MoveGraph[] graphs;
+	private int statesSearched;
+
+	// The states searched before the pass being searched
+	private int searchedBefore;
+	static int DBGN; static long[] C = new long[6]; static long DBGT = System.currentTimeMillis();
+
+	// The pass being searched: how many pixels positions are rounded to and
+	// if every place a player can stop ends a turn (otherwise a turn only
+	// ends where the player changed an obstacle, is at its door or is closer
+	// to it)
+	private int positionStep;
+	private boolean everyStop;
+
+	// Every turn found (the state both players stand still in after it), the
+	// turn it was found from, who moved, how many turns it is from the start
+	// and the input for each of its ticks
+	private final ArrayList<SimulationState> turns = new ArrayList<SimulationState>();
+	private final ArrayList<int[]> turnInputs = new ArrayList<int[]>();
+	private int[] parents = new int[1024];
+	private int[] movers = new int[1024];
+	private int[] depths = new int[1024];
+
+	// Turns to search next by their cost (turns so far plus the estimated
+	// moves left) then their index, packed into a long
+	private final PriorityQueue<Long> open = new PriorityQueue<Long>();
+	private final HashSet<SearchKey> turnsFound = new HashSet<SearchKey>();
+
+	// The ways each player can end a turn from each place in its MoveGraph,
+	// found once and tried from every turn that starts there. The ways share
+	// their first moves, so they are kept as a tree of moves (see searchTurn)
+	private final ArrayList<HashMap<Integer, int[][]>> turnEnds = new ArrayList<HashMap<Integer, int[][]>>();
+
+	/**
+	 * Checks the given levels and prints a report for each one. A level the
+	 * search doesn't finish is reported as not found, which doesn't mean it
+	 * can't be finished, so it doesn't fail the check
+	 * @param args the .lvl files or folders of .lvl files to check
+	 * @throws IOException if a level could not be read
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length == 0)
+		{
+			args = new String[] { "Resources/Levels" };
+		}
+
+		long start = System.currentTimeMillis();
+		ArrayList<File> levels = LevelCompiler.findLevels(args);
+		ForkJoinPool pool = new ForkJoinPool();
+		ArrayList<LevelVerifier> verifiers = new ArrayList<LevelVerifier>();
+		for (int level = 0; level < levels.size(); level++)
+		{
+			LevelVerifier verifier = new LevelVerifier(levels.get(level));
+			pool.execute(verifier);
+			verifiers.add(verifier);
+		}
+
+		int solved = 0, notFound = 0, capReached = 0;
+		for (int level = 0; level < verifiers.size(); level++)
+		{
+			LevelReport report = verifiers.get(level).join();
+			System.out.println(report);
+			if (report.isSolved())
+			{
+				solved++;
+			}
+			else if (report.isCapReached())
+			{
+				capReached++;
+			}
+			else
+			{
+				notFound++;
+			}
+		}
+		pool.shutdown();
+
+		System.out.println(String.format(
+				"%d of %d levels solved, %d not found (not known if they can be"
+						+ " finished), %d reached the cap of %d states on %d"
+						+ " threads in %d ms", solved, levels.size(), notFound,
+				capReached, MAX_STATES, pool.getParallelism(),
+				System.currentTimeMillis() - start));
+	}
+
+	/**
+	 * Makes a verifier for one level
+	 * @param levelFile the .lvl file to check
+	 */
+	public LevelVerifier(File levelFile)
+	{
+		this.levelFile = levelFile;
+	}
+
+	/**
+	 * Searches the level for a way to finish it
+	 * @return the report for the level
+	 */
+	protected LevelReport compute()
+	{
+		try
+		{
+			simulation = new Simulation(ByteBuffer.wrap(LevelCompiler
+					.compile(levelFile)));
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException("Could not read " + levelFile, e);
+		}
+		return search();
+	}
+
+	/**
+	 * Lets the players land then searches turns until the level is finished,
+	 * every pass has searched every turn or too many states have been
+	 * searched. The first passes round positions coarsely and only end turns
+	 * where they change something, and the last one ends them everywhere the
+	 * players can stop
+	 * @return the report for the level
+	 */
+	private LevelReport search()
+	{
+		long start = System.currentTimeMillis();
+		TileMap tileMap = simulation.getTileMap();
+		distances = new DistanceMap[] {
+				new DistanceMap(tileMap, Player.BUOY),
+				new DistanceMap(tileMap, Player.GRILL) };
+
+		// The players start in the air
+		while (simulation.getTicks() < MAX_SETTLE_TICKS
+				&& !(isStill(simulation.getBuoy().saveState()) && isStill(simulation
+						.getGrill().saveState())))
+		{
+			simulation.step(0);
+		}
+		SimulationState first = simulation.saveState();
+		int[] firstInputs = new int[first.getTicks()];
+
+		int finished = -1;
+		for (int pass = 0; pass < POSITION_STEPS.length && finished < 0
+				&& statesSearched < MAX_STATES; pass++)
+		{
+			finished = searchTurns(first, firstInputs, POSITION_STEPS[pass],
+					EVERY_STOP[pass]);
+			System.err.println(levelFile.getName() + " pass " + pass + " -> " + finished + " turns " + turns.size() + " sim " + statesSearched + " g " + graphs[0].size() + "/" + graphs[1].size() + " t " + (System.currentTimeMillis() - DBGT) + " ends " + C[0] + " stopdie " + C[1] + " notstill " + C[2] + " dup " + C[3] + " added " + C[4] + " movedie " + C[5]); C = new long[6]; DBGT = System.currentTimeMillis();
+		}
+
+		if (finished < 0)
+		{
+			return new LevelReport(levelFile.getName(), null, false, false,
+					statesSearched >= MAX_STATES, statesSearched,
+					System.currentTimeMillis() - start);
+		}
+		SimulationState end = turns.get(finished);
+		return new LevelReport(levelFile.getName(), witness(finished),
+				end.hasRedDiamond(), end.hasBlueDiamond(), false,
+				statesSearched, System.currentTimeMillis() - start);
+	}
+
+
+	/**
+	 * Searches turns best first from where the players first stand still
+	 * @param first the state the players first stand still in
+	 * @param firstInputs the input for each tick until then
+	 * @param positionStep how many pixels positions are rounded to in keys
+	 * @param everyStop if every place a player can stop ends a turn
+	 * @return the turn the level is finished in or -1 if it wasn't finished
+	 */
+	private int searchTurns(SimulationState first, int[] firstInputs,
+			int positionStep, boolean everyStop)
+	{
+		this.positionStep = positionStep;
+		this.everyStop = everyStop;
+		turns.clear();
+		turnInputs.clear();
+		open.clear();
+		turnsFound.clear();
+		turnEnds.clear();
+		turnEnds.add(new HashMap<Integer, int[][]>());
+		turnEnds.add(new HashMap<Integer, int[][]>());
+		graphs = new MoveGraph[] {
+				new MoveGraph(simulation, Player.BUOY, Integer.getInteger("gs", positionStep)),
+				new MoveGraph(simulation, Player.GRILL, Integer.getInteger("gs", positionStep)) };
+		searchedBefore = statesSearched;
+		addTurn(first, -1, NOBODY, firstInputs);
+
+		while (!open.isEmpty() && statesSearched < MAX_STATES)
+		{
+			int turn = (int) (long) open.poll();
+			for (int player = BUOY; player <= GRILL; player++)
+			{
+				// A player never moves twice in a row since its first turn
+				// already went everywhere it could
+				if (player == movers[turn])
+				{
+					continue;
+				}
+
+				int finished = playTurn(turn, player);
+				if (finished >= 0)
+				{
+					return finished;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Plays every way a player can end a turn from a turn and adds the turns
+	 * they end in. The ways were found from a place that rounds to the same
+	 * key, so they have to be played again from this one. Each move in the
+	 * tree of ways is only played once
+	 * @param turn the turn to start from
+	 * @param player the player that moves (BUOY or GRILL)
+	 * @return the turn the level is finished in or -1 if it wasn't finished
+	 */
+	private int playTurn(int turn, int player)
+	{
+		MoveGraph graph = graphs[player];
+		SimulationState from = turns.get(turn);
+		int[][] ends = getTurnEnds(from, player);
+		SimulationState[] states = new SimulationState[ends.length];
+		int[][] moveInputs = new int[ends.length][];
+		states[0] = from;
+		for (int entry = 1; entry < ends.length; entry++)
+		{
+			SimulationState parent = states[ends[entry][PARENT]];
+			if (parent == null)
+			{
+				continue;
+			}
+			simulation.restoreState(parent);
+			int move = ends[entry][MOVE];
+			int ticks = graph.play(move);
+			if (simulation.getBuoy().dead || simulation.getGrill().dead)
+			{
+				C[5]++;
+				continue;
+			}
+			moveInputs[entry] = new int[ticks];
+			for (int tick = 0; tick < ticks; tick++)
+			{
+				moveInputs[entry][tick] = graph.input(move, tick);
+			}
+			states[entry] = simulation.saveState();
+			if (states[entry].isFinished())
+			{
+				return addTurn(states[entry], turn, player, inputs(ends,
+						moveInputs, entry, new int[0]));
+			}
+
+			if (ends[entry][ENDS] != 0)
+			{
+				C[0]++;
+				int[] stopInputs = stop();
+				if (stopInputs == null)
+				{
+					C[1]++;
+					continue;
+				}
+				SimulationState to = simulation.saveState();
+				if (to.isFinished())
+				{
+					return addTurn(to, turn, player, inputs(ends, moveInputs,
+							entry, stopInputs));
+				}
+				if (isStill(to.getBuoy()) && isStill(to.getGrill()))
+				{
+					if (addTurn(to, turn, player, inputs(ends, moveInputs, entry,
+							stopInputs)) < 0) C[3]++; else C[4]++;
+				}
+				else C[2]++;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Lets the players stop after the last move of a turn, until the level is
+	 * finished or a player dies
+	 * @return the input for each tick (which is always 0) or null if a player
+	 *         died
+	 */
+	private int[] stop()
+	{
+		int firstTick = simulation.getTicks();
+		for (int tick = 0; tick < MAX_STOP_TICKS
+				&& !simulation.isFinished()
+				&& !(isStill(simulation.getBuoy().saveState()) && isStill(simulation
+						.getGrill().saveState())); tick++)
+		{
+			simulation.step(0);
+			if (simulation.getBuoy().dead || simulation.getGrill().dead)
+			{
+				return null;
+			}
+		}
+		return new int[simulation.getTicks() - firstTick];
+	}
+
+	/**
+	 * Returns the ways a player can end a turn from a state, searching for
+	 * them if they haven't been found from the same place before
+	 * @param from the state the turn starts in
+	 * @param player the player that moves (BUOY or GRILL)
+	 * @return the tree of moves to make for the ways to end the turn
+	 */
+	private int[][] getTurnEnds(SimulationState from, int player)
+	{
+		Integer place = graphs[player].find(from);
+		int[][] ends = turnEnds.get(player).get(place);
+		if (ends == null)
+		{
+			ends = searchTurn(from, place, player);
+			turnEnds.get(player).put(place, ends);
+		}
+		return ends;
+	}
+
+	/**
+	 * Searches every way one player can move from a place in its MoveGraph
+	 * (breadth first) while the other player waits and finds where the turn
+	 * can end. The ways to end it are a tree of moves: the first entry is
+	 * where the turn starts and each other entry is the entry it is reached
+	 * from (which is always earlier), the move that reaches it and if the
+	 * turn can end there
+	 * @param from the state the turn starts in
+	 * @param start the place the turn starts in
+	 * @param player the player that moves (BUOY or GRILL)
+	 * @return the tree of moves to make for the ways to end the turn
+	 */
+	private int[][] searchTurn(SimulationState from, int start,
+			int player)
+	{
+		MoveGraph graph = graphs[player];
+		int startDistance = distance(graph, start, player);
+		ArrayList<Integer> canEnd = new ArrayList<Integer>();
+		HashSet<SearchKey> endsFound = new HashSet<SearchKey>();
+
+		// Every place found in this turn, the place it was found from and the
+		// move that found it
+		ArrayList<Integer> places = new ArrayList<Integer>();
+		HashMap<Integer, Integer> parents = new HashMap<Integer, Integer>();
+		HashMap<Integer, Integer> placeMoves = new HashMap<Integer, Integer>();
+		places.add(start);
+		parents.put(start, -1);
+
+		for (int index = 0; index < places.size()
+				&& statesSearched < MAX_STATES; index++)
+		{
+			int place = places.get(index);
+			for (int move = 0; move < graph.getNumMoves(); move++)
+			{
+				// Dying resets the level so it never helps
+				int to = graph.getTarget(place, move, from);
+				if (to == MoveGraph.DIES || parents.containsKey(to))
+				{
+					continue;
+				}
+				places.add(to);
+				parents.put(to, place);
+				placeMoves.put(to, move);
+
+				if (canEndTurn(graph, start, to, player, startDistance)
+						&& endsFound.add(endKey(graph, to)))
+				{
+					canEnd.add(to);
+				}
+			}
+			statesSearched = searchedBefore + graphs[BUOY].getNumSimulated()
+					+ graphs[GRILL].getNumSimulated();
+		}
+
+		if (DBGN++ < 6) System.err.println("searchTurn player " + player + " start " + start + " places " + places.size() + " canEnd " + canEnd.size() + " x " + graph.getPlayer(start).getX() + " y " + graph.getPlayer(start).getY());
+		// Unless every stop ends a turn, only the places closest to the door
+		// with each set of obstacles end it
+		HashMap<SearchKey, Integer> closest = new HashMap<SearchKey, Integer>();
+		for (int end = 0; end < canEnd.size(); end++)
+		{
+			SearchKey obstacles = obstacles(graph, canEnd.get(end), 0);
+			int distance = distance(graph, canEnd.get(end), player);
+			Integer closestDistance = closest.get(obstacles);
+			if (closestDistance == null || closestDistance > distance)
+			{
+				closest.put(obstacles, distance);
+			}
+		}
+		HashMap<Integer, Integer> entries = new HashMap<Integer, Integer>();
+		entries.put(start, -1);
+		for (int end = 0; end < canEnd.size(); end++)
+		{
+			int place = canEnd.get(end);
+			if (everyStop
+					|| closest.get(obstacles(graph, place, 0)) == distance(
+							graph, place, player))
+			{
+				// Keep the places on the way to the end
+				entries.put(place, 1);
+				for (int at = parents.get(place); !entries.containsKey(at); at = parents
+						.get(at))
+				{
+					entries.put(at, 0);
+				}
+			}
+		}
+
+		// Places were found after the places they were found from, so
+		// putting them in the order they were found puts each entry after
+		// the one it is reached from
+		int[][] ends = new int[entries.size()][];
+		ends[0] = new int[] { -1, -1, 0 };
+		entries.put(start, 0);
+		int numEntries = 1;
+		for (int index = 1; index < places.size(); index++)
+		{
+			int place = places.get(index);
+			Integer canEndThere = entries.get(place);
+			if (canEndThere != null)
+			{
+				ends[numEntries] = new int[] { entries.get(parents.get(place)),
+						placeMoves.get(place), canEndThere };
+				entries.put(place, numEntries++);
+			}
+		}
+		return ends;
+	}
+
+	/**
+	 * Returns if a turn can end in a place. A player at its door can always
+	 * end its turn (it may finish the level). Otherwise the player has to be
+	 * standing still and, unless every stop ends a turn, has to have changed
+	 * an obstacle or got closer to its door
+	 * @param graph the MoveGraph of the player that moves
+	 * @param from the place the turn started in
+	 * @param to the place to end the turn in
+	 * @param player the player that moves
+	 * @param startDistance how far the player was from its door
+	 * @return if the turn can end in the place
+	 */
+	private boolean canEndTurn(MoveGraph graph, int from, int to, int player,
+			int startDistance)
+	{
+		if (graph.isDoorOpen(to))
+		{
+			return true;
+		}
+		if (!isStill(graph.getPlayer(to)))
+		{
+			return false;
+		}
+		return everyStop
+				|| !Arrays.equals(graph.getSwitches(from), graph
+						.getSwitches(to))
+				|| !Arrays.equals(graph.getButtons(from), graph.getButtons(to))
+				|| distance(graph, to, player) < startDistance;
+	}
+
+	/**
+	 * Adds a turn if both players haven't stood still in the same places with
+	 * the same obstacles and diamonds before
+	 * @param state the state at the end of the turn
+	 * @param parent the turn it was found from (or -1 for the start)
+	 * @param mover the player that moved in the turn
+	 * @param inputs the input for each tick of the turn
+	 * @return the index of the turn (or -1 if it wasn't added)
+	 */
+	private int addTurn(SimulationState state, int parent, int mover,
+			int[] inputs)
+	{
+		if (!turnsFound.add(key(state)) && !state.isFinished())
+		{
+			return -1;
+		}
+
+		int index = turns.size();
+		turns.add(state);
+		turnInputs.add(inputs);
+		if (index == parents.length)
+		{
+			parents = Arrays.copyOf(parents, index * 2);
+			movers = Arrays.copyOf(movers, index * 2);
+			depths = Arrays.copyOf(depths, index * 2);
+		}
+		parents[index] = parent;
+		movers[index] = mover;
+		depths[index] = parent < 0 ? 0 : depths[parent] + 1;
+
+		long cost = depths[index] + HEURISTIC_WEIGHT * estimate(state);
+		open.add(cost << 32 | index);
+		return index;
+	}
+
+	/**
+	 * Returns the input for each tick of a turn from the tree of moves played
+	 * in it
+	 * @param ends the tree of moves (see searchTurn)
+	 * @param moveInputs the input for each tick of each move played
+	 * @param entry the entry the turn ends at
+	 * @param stopInputs the input for each tick after the last move
+	 * @return the input for each tick of the turn
+	 */
+	private static int[] inputs(int[][] ends, int[][] moveInputs, int entry,
+			int[] stopInputs)
+	{
+		int length = stopInputs.length;
+		for (int at = entry; at > 0; at = ends[at][PARENT])
+		{
+			length += moveInputs[at].length;
+		}
+		int[] inputs = new int[length];
+		length -= stopInputs.length;
+		for (int at = entry; at > 0; at = ends[at][PARENT])
+		{
+			length -= moveInputs[at].length;
+			System.arraycopy(moveInputs[at], 0, inputs, length,
+					moveInputs[at].length);
+		}
+		return inputs;
+	}
+
+	/**
+	 * Returns the keys for each tick from the start of the level to the given
+	 * turn
+	 * @param turn the last turn
+	 * @return the input for each tick
+	 */
+	private int[] witness(int turn)
+	{
+		int[] witness = new int[turns.get(turn).getTicks()];
+		for (int at = turn; at >= 0; at = parents[at])
+		{
+			int[] inputs = turnInputs.get(at);
+			int firstTick = parents[at] < 0 ? 0 : turns.get(parents[at])
+					.getTicks();
+			System.arraycopy(inputs, 0, witness, firstTick, inputs.length);
+		}
+		return witness;
+	}
+
+	/**
+	 * Returns if a player is standing still
+	 * @param player the player's state
+	 * @return if the player is standing still
+	 */
+	private static boolean isStill(PlayerState player)
+	{
+		return player.getXDirection() == 0 && player.getYDirection() == 0
+				&& !player.isFalling() && !player.isJumping();
+	}
+
+	/**
+	 * Estimates how many moves it will take both players to get to their doors
+	 * @param state the state to estimate from
+	 * @return the estimated number of moves
+	 */
+	private int estimate(SimulationState state)
+	{
+		int lasers = lasers(state.switches);
+		int tiles = distances[BUOY].distance(state.getBuoy(), lasers)
+				+ distances[GRILL].distance(state.getGrill(), lasers);
+		return tiles * Tile.SIZE / MOVE_PIXELS;
+	}
+
+	/**
+	 * Returns how many tiles a player is from its door in a place
+	 * @param graph the player's MoveGraph
+	 * @param place the place
+	 * @param player the player (BUOY or GRILL)
+	 * @return how many tiles the player is from its door
+	 */
+	private int distance(MoveGraph graph, int place, int player)
+	{
+		return distances[player].distance(graph.getPlayer(place),
+				lasers(graph.getSwitches(place)));
+	}
+
+	/**
+	 * Returns the switches with their lasers on
+	 * @param switches the states of the switches
+	 * @return one bit for each switch with its laser on
+	 */
+	private static int lasers(int[] switches)
+	{
+		int lasers = 0;
+		for (int aSwitch = 0; aSwitch < switches.length; aSwitch++)
+		{
+			if ((switches[aSwitch] & Switch.LASER_ON) != 0)
+			{
+				lasers |= 1 << aSwitch;
+			}
+		}
+		return lasers;
+	}
+
+	/**
+	 * Returns a key for the state that is the same for states that are too
+	 * close to be worth searching twice. Positions are rounded to
+	 * positionStep pixels and speeds to whole pixels. The diamonds are kept
+	 * in since a level can be finished without them but the witness should
+	 * take them when it can. Other treasures don't change where the players
+	 * can go so they are left out
+	 * @param state the state
+	 * @return the key for the state
+	 */
+	private SearchKey key(SimulationState state)
+	{
+		return new SearchKey(new long[] {
+				MoveGraph.pack(state.getBuoy(), positionStep),
+				MoveGraph.pack(state.getGrill(), positionStep) },
+				state.switches, state.buttons, (state.hasRedDiamond() ? 1 : 0)
+						| (state.hasBlueDiamond() ? 2 : 0));
+	}
+
+	/**
+	 * Returns a key for where a turn ends, so each turn only ends once in
+	 * each place with each set of obstacles. Unless every stop ends a turn,
+	 * places are whole tiles
+	 * @param graph the MoveGraph of the player that moved
+	 * @param place the place the turn ends in
+	 * @return the key for where the turn ends
+	 */
+	private SearchKey endKey(MoveGraph graph, int place)
+	{
+		if (everyStop)
+		{
+			return obstacles(graph, place, place);
+		}
+		PlayerState mover = graph.getPlayer(place);
+		return obstacles(graph, place, MoveGraph.pack(mover, Tile.SIZE)
+				& 0xFFFFFFFFL | (isStill(mover) ? 1L << 32 : 0));
+	}
+
+	/**
+	 * Returns a key for the obstacles in a place and if the moving player's
+	 * door is open
+	 * @param graph the MoveGraph of the player that moves
+	 * @param place the place
+	 * @param where anything else that tells the places apart
+	 * @return the key for the obstacles
+	 */
+	private static SearchKey obstacles(MoveGraph graph, int place, long where)
+	{
+		return new SearchKey(new long[] { where }, graph.getSwitches(place),
+				graph.getButtons(place), graph.isDoorOpen(place) ? 1 : 0);
+	}
+}
\ No newline at end of file
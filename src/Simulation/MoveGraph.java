@@ -0,0 +1,390 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import Player.Player;
+import Player.PlayerState;
+import TileMap.Button;
+import TileMap.LaserIndex;
+import TileMap.Switch;
+import TileMap.Tile;
+import TileMap.TileMap;
+
+/**
+ * A move graph is every place the LevelVerifier has found one player in and
+ * where each of the player's moves takes it from there. A place is the
+ * player's rounded position and speed, the switches, if the doors are open
+ * and what the other player is on (the switches and buttons it holds and the
+ * lasers it is in). The buttons and lasers only depend on where the players
+ * are, so they aren't part of a place. The other player waits while the
+ * player moves, so that is all of it that changes what the player can do and
+ * the moves from each place are only simulated once for every turn of the
+ * search that starts there. A move is some keys held for at least WALK_TICKS
+ * until the player lands, with the keys changing part of the way through so
+ * a player can make a short jump or jump up then go across. The moves are
+ * simulated from the first state found in each place, so a turn plays its
+ * moves again from where it really starts (see play)
+ * @author Raya and Connor
+ * @version 1
+ */
+final class MoveGraph
+{
+	// Moves: the keys held at the start of the move, the keys held after that
+	// and the tick they change on. Jumps are only pressed on the first tick
+	private static final int WALK_TICKS = 8;
+	private static final int MAX_MOVE_TICKS = 240;
+	private static final int JUMPS = Simulation.BUOY_JUMP
+			| Simulation.GRILL_JUMP;
+
+	// Where a move that kills a player goes
+	static final int DIES = -1;
+
+	// Where a move that hasn't been simulated yet goes
+	private static final int UNKNOWN = -2;
+
+	// Buttons in a key
+	private static final int[] NO_BUTTONS = new int[0];
+
+	// Level
+	private final Simulation simulation;
+	private final Player mover;
+	private final boolean buoy;
+	private final int[][] moves;
+	private final int positionStep;
+
+	// Where the other player is a part of a place: one bit for each switch,
+	// two for each button and one for each laser (in that order)
+	private final int numWords;
+
+	// Places: the first state of the player found in each one and the
+	// obstacles there
+	private final HashMap<SearchKey, Integer> places = new HashMap<SearchKey, Integer>();
+	private final ArrayList<PlayerState> players = new ArrayList<PlayerState>();
+	private final ArrayList<int[]> switches = new ArrayList<int[]>();
+	private final ArrayList<int[]> buttons = new ArrayList<int[]>();
+	private boolean[] doorOpen = new boolean[1024];
+
+	// Where each move from each place goes (place * the number of moves +
+	// move)
+	private int[] targets = new int[1024];
+	private int numSimulated;
+
+	/**
+	 * Makes an empty move graph for one of the players
+	 * @param simulation the level (shared with the LevelVerifier)
+	 * @param player the player (Player.BUOY or Player.GRILL)
+	 * @param positionStep how many pixels positions are rounded to
+	 */
+	MoveGraph(Simulation simulation, int player, int positionStep)
+	{
+		this.simulation = simulation;
+		this.positionStep = positionStep;
+		buoy = player == Player.BUOY;
+		mover = buoy ? simulation.getBuoy() : simulation.getGrill();
+		moves = buoy ? movesFor(Simulation.BUOY_LEFT, Simulation.BUOY_RIGHT,
+				Simulation.BUOY_JUMP) : movesFor(Simulation.GRILL_LEFT,
+				Simulation.GRILL_RIGHT, Simulation.GRILL_JUMP);
+
+		TileMap tileMap = simulation.getTileMap();
+		numWords = (tileMap.getSwitches().size() + tileMap.getButtons().size()
+				* 2 + tileMap.getLasers().size() + 63) / 64;
+	}
+
+	/**
+	 * Makes the moves for one player
+	 * @param left the player's left key
+	 * @param right the player's right key
+	 * @param jump the player's jump key
+	 * @return the keys held at the start, the keys held after that and the
+	 *         tick they change on for each move
+	 */
+	private static int[][] movesFor(int left, int right, int jump)
+	{
+		return new int[][] { { 0, 0, 0 }, { left, left, 0 },
+				{ right, right, 0 }, { left, 0, 3 }, { right, 0, 3 },
+				{ jump, 0, 1 }, { jump | left, left, 1 },
+				{ jump | right, right, 1 }, { jump | left, 0, 6 },
+				{ jump | right, 0, 6 }, { jump | left, 0, 16 },
+				{ jump | right, 0, 16 }, { jump, left, 12 },
+				{ jump, right, 12 }, { jump, left, 28 }, { jump, right, 28 } };
+	}
+
+	/**
+	 * Returns the place the player is in in a state, adding it if it is new
+	 * @param state the state
+	 * @return the place
+	 */
+	int find(SimulationState state)
+	{
+		PlayerState player = buoy ? state.getBuoy() : state.getGrill();
+		boolean isDoorOpen = buoy ? state.blueDoorOpen : state.redDoorOpen;
+		boolean isOtherDoorOpen = buoy ? state.redDoorOpen
+				: state.blueDoorOpen;
+		long[] values = new long[1 + numWords];
+		values[0] = pack(player, positionStep);
+		long[] on = other(buoy ? state.getGrill() : state.getBuoy());
+		System.arraycopy(on, 0, values, 1, on.length);
+		SearchKey key = new SearchKey(values, state.switches, NO_BUTTONS,
+				(isDoorOpen ? 1 : 0) | (isOtherDoorOpen ? 2 : 0));
+		Integer place = places.get(key);
+		if (place != null)
+		{
+			return place;
+		}
+
+		int newPlace = players.size();
+		places.put(key, newPlace);
+		players.add(player);
+		switches.add(state.switches);
+		buttons.add(state.buttons);
+		if (newPlace == doorOpen.length)
+		{
+			doorOpen = Arrays.copyOf(doorOpen, newPlace * 2);
+		}
+		doorOpen[newPlace] = isDoorOpen;
+
+		int first = newPlace * moves.length;
+		if (first + moves.length > targets.length)
+		{
+			targets = Arrays.copyOf(targets, targets.length * 2);
+		}
+		Arrays.fill(targets, first, first + moves.length, UNKNOWN);
+		return newPlace;
+	}
+
+	/**
+	 * Returns where a move takes the player, simulating the moves from the
+	 * place if they haven't been yet
+	 * @param place the place to move from
+	 * @param move the move
+	 * @param turn the state of the turn being searched (where the other
+	 *            player is standing)
+	 * @return the place the move goes to or DIES if a player dies
+	 */
+	int getTarget(int place, int move, SimulationState turn)
+	{
+		if (targets[place * moves.length] == UNKNOWN)
+		{
+			simulate(place, turn);
+		}
+		return targets[place * moves.length + move];
+	}
+
+	/**
+	 * Steps the simulation through one move from its current state. The move
+	 * stops early if the level is finished or a player dies
+	 * @param move the move
+	 * @return the number of ticks the move took
+	 */
+	int play(int move)
+	{
+		int tick = 0;
+		naturalEnd = Integer.MAX_VALUE;
+		while (tick < MAX_MOVE_TICKS && !simulation.isFinished())
+		{
+			if (!(tick < WALK_TICKS || mover.isInAir()))
+			{
+				if (!SETTLE) break;
+				if (naturalEnd == Integer.MAX_VALUE) naturalEnd = tick;
+				PlayerState p = mover.saveState();
+				if (p.getXDirection() == 0 && p.getYDirection() == 0 && !p.isFalling() && !p.isJumping()) break;
+			}
+			simulation.step(input(move, tick));
+			tick++;
+			if (simulation.getBuoy().dead || simulation.getGrill().dead)
+			{
+				break;
+			}
+		}
+		return tick;
+	}
+	int naturalEnd = Integer.MAX_VALUE;
+	static final boolean SETTLE = Boolean.getBoolean("settle");
+
+	/**
+	 * Returns the keys held on one tick of a move
+	 * @param move the move
+	 * @param tick the tick of the move (starting at 0)
+	 * @return the keys held on the tick
+	 */
+	int input(int move, int tick)
+	{
+		if (tick >= naturalEnd) return 0;
+		if (tick == 0)
+		{
+			return moves[move][0];
+		}
+		return tick < moves[move][2] ? moves[move][0] & ~JUMPS
+				: moves[move][1];
+	}
+
+	/**
+	 * Returns the number of moves
+	 * @return the number of moves
+	 */
+	int getNumMoves()
+	{
+		return moves.length;
+	}
+
+	/**
+	 * Returns the number of places found
+	 * @return the number of places found
+	 */
+	int size()
+	{
+		return players.size();
+	}
+
+	/**
+	 * Returns the player's state in a place
+	 * @param place the place
+	 * @return the player's state
+	 */
+	PlayerState getPlayer(int place)
+	{
+		return players.get(place);
+	}
+
+	/**
+	 * Returns the states of the switches in a place
+	 * @param place the place
+	 * @return the states of the switches
+	 */
+	int[] getSwitches(int place)
+	{
+		return switches.get(place);
+	}
+
+	/**
+	 * Returns the states of the buttons in a place
+	 * @param place the place
+	 * @return the states of the buttons
+	 */
+	int[] getButtons(int place)
+	{
+		return buttons.get(place);
+	}
+
+	/**
+	 * Returns if the player's door is open in a place
+	 * @param place the place
+	 * @return if the player's door is open
+	 */
+	boolean isDoorOpen(int place)
+	{
+		return doorOpen[place];
+	}
+
+	/**
+	 * Returns the number of places the moves have been simulated from
+	 * @return the number of places the moves have been simulated from
+	 */
+	int getNumSimulated()
+	{
+		return numSimulated;
+	}
+
+	/**
+	 * Simulates every move from a place. The simulation is put into the turn
+	 * being searched with the player and obstacles moved into the place
+	 * @param place the place to move from
+	 * @param turn the state of the turn being searched
+	 */
+	private void simulate(int place, SimulationState turn)
+	{
+		simulation.restoreState(turn);
+		mover.restoreState(players.get(place));
+		TileMap tileMap = simulation.getTileMap();
+		ArrayList<Switch> levelSwitches = tileMap.getSwitches();
+		int[] switchStates = switches.get(place);
+		for (int aSwitch = 0; aSwitch < switchStates.length; aSwitch++)
+		{
+			levelSwitches.get(aSwitch).setState(switchStates[aSwitch]);
+		}
+		ArrayList<Button> levelButtons = tileMap.getButtons();
+		int[] buttonStates = buttons.get(place);
+		for (int aButton = 0; aButton < buttonStates.length; aButton++)
+		{
+			levelButtons.get(aButton).setState(buttonStates[aButton]);
+		}
+		SimulationState from = simulation.saveState();
+		numSimulated++;
+
+		for (int move = 0; move < moves.length; move++)
+		{
+			simulation.restoreState(from);
+			play(move);
+
+			// Dying resets the level so it never helps
+			int target = DIES;
+			if (!simulation.getBuoy().dead && !simulation.getGrill().dead)
+			{
+				target = find(simulation.saveState());
+			}
+			targets[place * moves.length + move] = target;
+		}
+	}
+
+	/**
+	 * Returns what the other player is on: the switches and buttons it holds
+	 * (which look at its middle) and the lasers it is in (which look at its
+	 * corner)
+	 * @param other the other player
+	 * @return one bit for each switch, two for each button and one for each
+	 *         laser (see numWords)
+	 */
+	private long[] other(PlayerState other)
+	{
+		int x = (int) other.getX();
+		int y = (int) other.getY();
+		TileMap tileMap = simulation.getTileMap();
+		BitSet on = new BitSet();
+		int bit = 0;
+		ArrayList<Switch> levelSwitches = tileMap.getSwitches();
+		for (int aSwitch = 0; aSwitch < levelSwitches.size(); aSwitch++)
+		{
+			Switch theSwitch = levelSwitches.get(aSwitch);
+			int middleX = x + Tile.SIZE / 2 - theSwitch.getX();
+			int middleY = y + Tile.SIZE / 2 - theSwitch.getY();
+			on.set(bit++, middleX >= 0 && middleY >= 0 && middleX < Tile.SIZE
+					&& middleY < Tile.SIZE);
+		}
+		ArrayList<Button> levelButtons = tileMap.getButtons();
+		for (int aButton = 0; aButton < levelButtons.size(); aButton++)
+		{
+			int buttons = levelButtons.get(aButton).getButtonAt(
+					x + Tile.SIZE / 2, y + Tile.SIZE / 2);
+			on.set(bit++, (buttons & 1) != 0);
+			on.set(bit++, (buttons & 2) != 0);
+		}
+		LaserIndex lasers = tileMap.getLasers();
+		for (int laser = 0; laser < lasers.size(); laser++)
+		{
+			on.set(bit++, lasers.covers(laser, x, y));
+		}
+		return on.toLongArray();
+	}
+
+	/**
+	 * Packs a player's rounded position, speed and movement into a number.
+	 * Positions are rounded down to positionStep pixels and speeds to whole
+	 * pixels a tick
+	 * @param player the player
+	 * @param positionStep how many pixels positions are rounded to
+	 * @return the packed player
+	 */
+	static long pack(PlayerState player, int positionStep)
+	{
+		long x = (long) Math.floor(player.getX() / positionStep) & 0xFFFF;
+		long y = (long) Math.floor(player.getY() / positionStep) & 0xFFFF;
+		long xDirection = Math.round(player.getXDirection()) & 0xFF;
+		long yDirection = Math.round(player.getYDirection()) & 0xFF;
+		return x | y << 16 | xDirection << 32 | yDirection << 40
+				| (player.isJumping() ? 1L << 48 : 0)
+				| (player.isFalling() ? 1L << 49 : 0);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,334 @@
+package Simulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A replay is the input for every tick of one playthrough of a level along
+ * with how the level ended. A simulation is deterministic, so playing the
+ * inputs back through a new simulation of the same level always ends the same
+ * way, and the replay can check that it did. Replays are saved in a small
+ * binary format where the inputs are run length encoded (inputs are the same
+ * for many ticks in a row) and numbers are written as varints (7 bits a byte
+ * with the high bit set on every byte but the last).
+ *
+ * <pre>
+ * header  int magic ("FGWR"), short version, varint level
+ * inputs  varint number of runs, then varint input, varint ticks each
+ * end     varint ticks run, varint score, varint buoy x, varint buoy y,
+ *         varint grill x, varint grill y, byte finished (1 or 0)
+ * </pre>
+ *
+ * The inputs are the Simulation inputs plus PAUSED for ticks where the level
+ * was paused (the simulation isn't stepped for them)
+ * @author Raya and Connor
+ * @version 2
+ */
+public class Replay
+{
+	// Format
+	private static final int MAGIC = 0x46475752;
+	private static final short VERSION = 1;
+
+	// Input for a tick the level was paused
+	public static final int PAUSED = 128;
+
+	// Most ticks a replay can hold (a day at 60 ticks a second). Reading a
+	// replay that says it is longer fails instead of making a huge array
+	public static final int MAX_TICKS = 60 * 60 * 60 * 24;
+
+	// Level and the input for each tick
+	private final int level;
+	private final int[] inputs;
+
+	// How the level ended
+	private final int ticks, score;
+	private final int buoyX, buoyY, grillX, grillY;
+	private final boolean finished;
+
+	/**
+	 * Makes a replay
+	 * @param level the level played
+	 * @param inputs the input for each tick
+	 * @param ticks the number of ticks the simulation ran
+	 * @param score the score at the end
+	 * @param buoyX the buoy's x coordinate at the end
+	 * @param buoyY the buoy's y coordinate at the end
+	 * @param grillX the grill's x coordinate at the end
+	 * @param grillY the grill's y coordinate at the end
+	 * @param finished if the level was finished
+	 */
+	Replay(int level, int[] inputs, int ticks, int score, int buoyX,
+			int buoyY, int grillX, int grillY, boolean finished)
+	{
+		this.level = level;
+		this.inputs = inputs;
+		this.ticks = ticks;
+		this.score = score;
+		this.buoyX = buoyX;
+		this.buoyY = buoyY;
+		this.grillX = grillX;
+		this.grillY = grillY;
+		this.finished = finished;
+	}
+
+	/**
+	 * Reads a replay
+	 * @param in the stream to read the replay from (not closed)
+	 * @return the replay
+	 * @throws IOException if the replay could not be read or is not a replay
+	 *             of the right version
+	 */
+	public static Replay read(InputStream in) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) >= 0)
+		{
+			bytes.write(buffer, 0, read);
+		}
+		return read(ByteBuffer.wrap(bytes.toByteArray()));
+	}
+
+	/**
+	 * Reads a replay from a buffer
+	 * @param replay the replay, read from its current position
+	 * @return the replay
+	 * @throws IOException if it is not a replay of the right version or is
+	 *             damaged
+	 */
+	public static Replay read(ByteBuffer replay) throws IOException
+	{
+		try
+		{
+			if (replay.getInt() != MAGIC)
+			{
+				throw new IOException("Not a replay");
+			}
+			if (replay.getShort() != VERSION)
+			{
+				throw new IOException("Replay is the wrong version");
+			}
+			int level = readVarint(replay);
+
+			// Expand the runs
+			// Every run takes at least two bytes
+			int numRuns = readVarint(replay);
+			if (numRuns < 0 || numRuns > replay.remaining() / 2)
+			{
+				throw new IOException("Replay is damaged");
+			}
+			int[] inputs = new int[16];
+			int numInputs = 0;
+			for (int run = 0; run < numRuns; run++)
+			{
+				int input = readVarint(replay);
+				int length = readVarint(replay);
+				if (length < 0 || length > MAX_TICKS - numInputs)
+				{
+					throw new IOException("Replay is damaged");
+				}
+				if (numInputs + length > inputs.length)
+				{
+					inputs = Arrays.copyOf(inputs, Math.max(numInputs + length,
+							inputs.length * 2));
+				}
+				Arrays.fill(inputs, numInputs, numInputs + length, input);
+				numInputs += length;
+			}
+
+			return new Replay(level, Arrays.copyOf(inputs, numInputs),
+					readVarint(replay), readVarint(replay), readVarint(replay),
+					readVarint(replay), readVarint(replay), readVarint(replay),
+					replay.get() == 1);
+		}
+		catch (RuntimeException e)
+		{
+			// Ran off the end or a varint was too long
+			throw new IOException("Replay is damaged", e);
+		}
+	}
+
+	/**
+	 * Writes the replay
+	 * @param out the stream to write the replay to (not closed)
+	 * @throws IOException if the replay could not be written
+	 */
+	public void write(OutputStream out) throws IOException
+	{
+		out.write(toByteArray());
+	}
+
+	/**
+	 * Returns the replay in its saved format
+	 * @return the bytes of the saved replay
+	 */
+	public byte[] toByteArray()
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(MAGIC >>> 24);
+		bytes.write(MAGIC >>> 16);
+		bytes.write(MAGIC >>> 8);
+		bytes.write(MAGIC);
+		bytes.write(VERSION >>> 8);
+		bytes.write(VERSION);
+		writeVarint(bytes, level);
+
+		// Count the runs then write them
+		int numRuns = 0;
+		for (int tick = 0; tick < inputs.length; tick++)
+		{
+			if (tick == 0 || inputs[tick] != inputs[tick - 1])
+			{
+				numRuns++;
+			}
+		}
+		writeVarint(bytes, numRuns);
+		int start = 0;
+		for (int tick = 1; tick <= inputs.length; tick++)
+		{
+			if (tick == inputs.length || inputs[tick] != inputs[start])
+			{
+				writeVarint(bytes, inputs[start]);
+				writeVarint(bytes, tick - start);
+				start = tick;
+			}
+		}
+
+		writeVarint(bytes, ticks);
+		writeVarint(bytes, score);
+		writeVarint(bytes, buoyX);
+		writeVarint(bytes, buoyY);
+		writeVarint(bytes, grillX);
+		writeVarint(bytes, grillY);
+		bytes.write(finished ? 1 : 0);
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Plays the whole replay through a simulation of its level, as fast as
+	 * possible
+	 * @param simulation a new simulation of the replay's level
+	 */
+	public void play(Simulation simulation)
+	{
+		for (int tick = 0; tick < inputs.length; tick++)
+		{
+			if ((inputs[tick] & PAUSED) == 0)
+			{
+				simulation.step(inputs[tick]);
+			}
+		}
+	}
+
+	/**
+	 * Returns if a simulation ended the same way as the one that was recorded
+	 * @param simulation the simulation the replay was played through
+	 * @return if the simulation ended the same way
+	 */
+	public boolean matches(Simulation simulation)
+	{
+		return simulation.getTicks() == ticks
+				&& simulation.getScore() == score
+				&& simulation.getBuoy().getX() == buoyX
+				&& simulation.getBuoy().getY() == buoyY
+				&& simulation.getGrill().getX() == grillX
+				&& simulation.getGrill().getY() == grillY
+				&& simulation.isFinished() == finished;
+	}
+
+	/**
+	 * Returns the level that was played
+	 * @return the level number (starting at 1)
+	 */
+	public int getLevel()
+	{
+		return level;
+	}
+
+	/**
+	 * Returns the number of ticks recorded (including paused ticks)
+	 * @return the number of ticks recorded
+	 */
+	public int getLength()
+	{
+		return inputs.length;
+	}
+
+	/**
+	 * Returns the input for a tick
+	 * @param tick the tick (starting at 0)
+	 * @return the input for the tick (Simulation inputs or PAUSED)
+	 */
+	public int getInput(int tick)
+	{
+		return inputs[tick];
+	}
+
+	/**
+	 * Returns the score at the end of the replay
+	 * @return the score at the end of the replay
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Returns if the level was finished
+	 * @return if the level was finished
+	 */
+	public boolean isFinished()
+	{
+		return finished;
+	}
+
+	/**
+	 * Describes the replay
+	 */
+	public String toString()
+	{
+		return String.format("Level %d: %d ticks, score %d, %s", level,
+				inputs.length, score, finished ? "finished" : "not finished");
+	}
+
+	/**
+	 * Reads a varint
+	 * @param buffer the buffer to read from
+	 * @return the number
+	 */
+	private static int readVarint(ByteBuffer buffer)
+	{
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			int b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IllegalStateException("Varint is too long");
+	}
+
+	/**
+	 * Writes a varint
+	 * @param out the stream to write to
+	 * @param value the number (not negative)
+	 */
+	private static void writeVarint(ByteArrayOutputStream out, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+}
\ No newline at end of file
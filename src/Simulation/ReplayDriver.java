@@ -0,0 +1,60 @@
+package Simulation;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The replay driver plays replays back through new simulations as fast as
+ * possible and checks that each one ends exactly the way it did when it was
+ * recorded. It is used to reproduce bugs players send replays of and to check
+ * that changes to the physics don't change how recorded runs play out
+ * @author Raya and Connor
+ * @version 1
+ */
+public class ReplayDriver
+{
+	/**
+	 * Plays the given replay files and prints how each one went. Exits with 1
+	 * if any replay didn't end the way it was recorded
+	 * @param args the replay files
+	 * @throws IOException if a replay or its level could not be read
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int different = 0;
+		for (int file = 0; file < args.length; file++)
+		{
+			Replay replay;
+			InputStream in = new FileInputStream(args[file]);
+			try
+			{
+				replay = Replay.read(in);
+			}
+			finally
+			{
+				in.close();
+			}
+
+			Simulation simulation = new Simulation(replay.getLevel());
+			long start = System.nanoTime();
+			replay.play(simulation);
+			long time = System.nanoTime() - start;
+
+			boolean matches = replay.matches(simulation);
+			if (!matches)
+			{
+				different++;
+			}
+			System.out.println(String.format(
+					"%s: %s, %s (%d ticks in %.2f ms)", args[file], replay,
+					matches ? "same" : "DIFFERENT", simulation.getTicks(),
+					time / 1e6));
+		}
+
+		if (different > 0)
+		{
+			System.exit(1);
+		}
+	}
+}
\ No newline at end of file
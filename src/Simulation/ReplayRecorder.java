@@ -0,0 +1,64 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * A replay recorder collects the input for each tick while a level is played
+ * and makes a replay from them when the playthrough is over. Recording a tick
+ * only stores one number, and the array it is stored in only grows now and
+ * then, so it can run every tick of the game
+ * @author Raya and Connor
+ * @version 2
+ */
+public class ReplayRecorder
+{
+	// Level being recorded
+	private final int level;
+
+	// Input for each tick recorded
+	private int[] inputs = new int[1024];
+	private int numInputs;
+
+	/**
+	 * Makes a recorder for a level
+	 * @param level the level being played (starting at 1)
+	 */
+	public ReplayRecorder(int level)
+	{
+		this.level = level;
+	}
+
+	/**
+	 * Records the input for a tick. Ticks past Replay.MAX_TICKS aren't
+	 * recorded
+	 * @param input the Simulation inputs given to the tick or Replay.PAUSED if
+	 *            the level was paused
+	 */
+	public void record(int input)
+	{
+		if (numInputs == Replay.MAX_TICKS)
+		{
+			// Longer replays can't be read back
+			return;
+		}
+		if (numInputs == inputs.length)
+		{
+			inputs = Arrays.copyOf(inputs, inputs.length * 2);
+		}
+		inputs[numInputs++] = input;
+	}
+
+	/**
+	 * Makes a replay of the ticks recorded so far
+	 * @param simulation the simulation that was played
+	 * @return the replay
+	 */
+	public Replay finish(Simulation simulation)
+	{
+		return new Replay(level, Arrays.copyOf(inputs, numInputs),
+				simulation.getTicks(), simulation.getScore(), simulation
+						.getBuoy().getX(), simulation.getBuoy().getY(),
+				simulation.getGrill().getX(), simulation.getGrill().getY(),
+				simulation.isFinished());
+	}
+}
\ No newline at end of file
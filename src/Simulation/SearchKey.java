@@ -0,0 +1,65 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * A search key is what the LevelVerifier tells states apart by: the players'
+ * rounded positions and speeds packed into numbers followed by the states of
+ * the switches and buttons and anything else that matters. Keys are compared
+ * number by number (not by a hash of them), so two different states are never
+ * taken for the same one
+ * @author Raya and Connor
+ * @version 1
+ */
+final class SearchKey
+{
+	// Numbers
+	final long[] values;
+	private final int hash;
+
+	/**
+	 * Makes a key
+	 * @param players the packed players (see MoveGraph.pack)
+	 * @param switches the states of the switches
+	 * @param buttons the states of the buttons
+	 * @param extra anything else that tells the states apart
+	 */
+	SearchKey(long[] players, int[] switches, int[] buttons, int extra)
+	{
+		values = new long[players.length + switches.length + buttons.length
+				+ 1];
+		System.arraycopy(players, 0, values, 0, players.length);
+		int value = players.length;
+		for (int aSwitch = 0; aSwitch < switches.length; aSwitch++)
+		{
+			values[value++] = switches[aSwitch];
+		}
+		for (int button = 0; button < buttons.length; button++)
+		{
+			values[value++] = buttons[button];
+		}
+		values[value] = extra;
+		hash = Arrays.hashCode(values);
+	}
+
+	/**
+	 * Returns if another key has the same numbers
+	 * @param other the other key
+	 * @return if the keys are the same
+	 */
+	public boolean equals(Object other)
+	{
+		return other instanceof SearchKey
+				&& hash == ((SearchKey) other).hash
+				&& Arrays.equals(values, ((SearchKey) other).values);
+	}
+
+	/**
+	 * Returns the hash of the numbers
+	 * @return the hash of the numbers
+	 */
+	public int hashCode()
+	{
+		return hash;
+	}
+}
\ No newline at end of file
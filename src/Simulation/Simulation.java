@@ -0,0 +1,429 @@
+package Simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import Player.Player;
+import Player.PlayerState;
+import TileMap.Button;
+import TileMap.Door;
+import TileMap.LevelPack;
+import TileMap.LevelSnapshot;
+import TileMap.Switch;
+import TileMap.TileMap;
+import TileMap.Treasure;
+import TileMap.TreasureIndex;
+
+/**
+ * A simulation is one playthrough of a level without drawing anything. It
+ * loads a compiled level and steps it one tick at a time from the keys that
+ * are down during that tick, doing exactly what the level state does each
+ * update. It never loads images or fonts or touches the screen, and everything
+ * it uses belongs to it, so many simulations can run at once (for testing or
+ * for bots). A simulation's state can be saved and put back so a level can be
+ * searched from any point
+ * @author Raya and Connor
+ * @version 4
+ */
+public class Simulation
+{
+	// Inputs (one bit for each key that is down during a tick). Jumping and
+	// resetting happen once each tick they are given
+	public static final int BUOY_LEFT = 1;
+	public static final int BUOY_RIGHT = 2;
+	public static final int BUOY_JUMP = 4;
+	public static final int GRILL_LEFT = 8;
+	public static final int GRILL_RIGHT = 16;
+	public static final int GRILL_JUMP = 32;
+	public static final int RESET = 64;
+
+	// Level
+	private TileMap tileMap;
+	private LevelSnapshot snapshot;
+
+	// Players
+	private Player buoy;
+	private Player grill;
+
+	// Score
+	private int score;
+	private boolean redDiamond, blueDiamond;
+
+	// Progress
+	private boolean finished;
+	private int ticks;
+
+	// Told about changes so they can be drawn
+	private SimulationListener listener;
+
+	/**
+	 * Loads the given compiled level (see LevelCompiler) and puts the players
+	 * at their start points
+	 * @param level the compiled level
+	 * @throws IOException if the level is not a compiled level of the right
+	 *             version
+	 */
+	public Simulation(ByteBuffer level) throws IOException
+	{
+		tileMap = new TileMap(32);
+		tileMap.loadMap(level);
+		snapshot = tileMap.getSnapshot();
+
+		buoy = new Player(tileMap, 28, 28, Player.BUOY);
+		buoy.setPosition(snapshot.getBuoyStartX(), snapshot.getBuoyStartY());
+
+		grill = new Player(tileMap, 28, 28, Player.GRILL);
+		grill.setPosition(snapshot.getGrillStartX(),
+				snapshot.getGrillStartY());
+	}
+
+	/**
+	 * Loads the given level from the level pack the game ships with
+	 * @param level the level number (starting at 1)
+	 * @throws IOException if the level pack could not be read
+	 */
+	public Simulation(int level) throws IOException
+	{
+		this(LevelPack.getDefault().getLevel(level));
+	}
+
+	/**
+	 * Sets who is told about changes to the level
+	 * @param listener who is told about changes to the level (or null)
+	 */
+	public void setListener(SimulationListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * Puts the players, treasures and obstacles back to how they were when
+	 * the level started
+	 */
+	public void reset()
+	{
+		buoy.setPosition(snapshot.getBuoyStartX(), snapshot.getBuoyStartY());
+		grill.setPosition(snapshot.getGrillStartX(),
+				snapshot.getGrillStartY());
+		score = 0;
+		redDiamond = false;
+		blueDiamond = false;
+
+		// Put back the treasures and obstacles
+		tileMap.reset();
+
+		if (listener != null)
+			listener.levelReset();
+	}
+
+	/**
+	 * Saves everything about the level that changes while it is played
+	 * @return the simulation's state
+	 */
+	public SimulationState saveState()
+	{
+		ArrayList<Switch> switches = tileMap.getSwitches();
+		int[] switchStates = new int[switches.size()];
+		for (int aSwitch = 0; aSwitch < switchStates.length; aSwitch++)
+		{
+			switchStates[aSwitch] = switches.get(aSwitch).getState();
+		}
+
+		ArrayList<Button> buttons = tileMap.getButtons();
+		int[] buttonStates = new int[buttons.size()];
+		for (int aButton = 0; aButton < buttonStates.length; aButton++)
+		{
+			buttonStates[aButton] = buttons.get(aButton).getState();
+		}
+
+		// The treasure index is numbered the same way as the snapshot
+		TreasureIndex treasures = tileMap.getTreasures();
+		boolean[] treasuresLeft = new boolean[treasures.size()];
+		for (int aTreasure = 0; aTreasure < treasuresLeft.length; aTreasure++)
+		{
+			treasuresLeft[aTreasure] = treasures.isLeft(aTreasure);
+		}
+
+		return new SimulationState(buoy.saveState(), grill.saveState(),
+				switchStates, buttonStates, tileMap.getRedDoor().isOpen(),
+				tileMap.getBlueDoor().isOpen(), treasuresLeft, score,
+				redDiamond, blueDiamond, finished, ticks);
+	}
+
+	/**
+	 * Puts the level back into a saved state. The listener isn't told about
+	 * the changes
+	 * @param state a state saved from this simulation
+	 */
+	public void restoreState(SimulationState state)
+	{
+		buoy.restoreState(state.buoy);
+		grill.restoreState(state.grill);
+
+		ArrayList<Switch> switches = tileMap.getSwitches();
+		for (int aSwitch = 0; aSwitch < switches.size(); aSwitch++)
+		{
+			switches.get(aSwitch).setState(state.switches[aSwitch]);
+		}
+
+		ArrayList<Button> buttons = tileMap.getButtons();
+		for (int aButton = 0; aButton < buttons.size(); aButton++)
+		{
+			buttons.get(aButton).setState(state.buttons[aButton]);
+		}
+
+		tileMap.getRedDoor().setOpen(state.redDoorOpen);
+		tileMap.getBlueDoor().setOpen(state.blueDoorOpen);
+
+		TreasureIndex treasures = tileMap.getTreasures();
+		for (int aTreasure = 0; aTreasure < state.treasures.length; aTreasure++)
+		{
+			treasures.setLeft(aTreasure, state.treasures[aTreasure]);
+		}
+
+		score = state.score;
+		redDiamond = state.redDiamond;
+		blueDiamond = state.blueDiamond;
+		finished = state.finished;
+		ticks = state.ticks;
+	}
+
+	/**
+	 * Runs one tick of the level. Does nothing once the level is finished
+	 * @param input the keys that are down during the tick (see the inputs)
+	 */
+	public void step(int input)
+	{
+		if (finished)
+		{
+			return;
+		}
+
+		// Apply the keys
+		if ((input & RESET) != 0)
+		{
+			reset();
+		}
+		buoy.setLeft((input & BUOY_LEFT) != 0);
+		buoy.setRight((input & BUOY_RIGHT) != 0);
+		if ((input & BUOY_JUMP) != 0)
+		{
+			buoy.setJumping(true);
+		}
+		grill.setLeft((input & GRILL_LEFT) != 0);
+		grill.setRight((input & GRILL_RIGHT) != 0);
+		if ((input & GRILL_JUMP) != 0)
+		{
+			grill.setJumping(true);
+		}
+
+		// Update buoy and grill. If a player died last tick the level is
+		// reset before it moves
+		if (buoy.dead)
+		{
+			if (listener != null)
+				listener.playerDied(buoy);
+			reset();
+			buoy.dead = false;
+		}
+		buoy.update();
+
+		if (grill.dead)
+		{
+			if (listener != null)
+				listener.playerDied(grill);
+			reset();
+			grill.dead = false;
+		}
+		grill.update();
+
+		// Check for collisions
+		// Check for collisions with switches
+		ArrayList<Switch> switches = tileMap.getSwitches();
+		for (int aSwitch = 0; aSwitch < switches.size(); aSwitch++)
+		{
+			Switch theSwitch = switches.get(aSwitch);
+			if (theSwitch.update(buoy.getX(), buoy.getY(), grill.getX(),
+					grill.getY()) && listener != null)
+			{
+				listener.switchChanged(theSwitch);
+			}
+		}
+
+		// Check for collisions with buttons
+		ArrayList<Button> buttons = tileMap.getButtons();
+		for (int aButton = 0; aButton < buttons.size(); aButton++)
+		{
+			Button button = buttons.get(aButton);
+			if (button.update(buoy.getX(), buoy.getY(), grill.getX(),
+					grill.getY()) && listener != null)
+			{
+				listener.buttonChanged(button);
+			}
+		}
+
+		// Check for collisions with doors
+		Door blueDoor = tileMap.getBlueDoor();
+		if (blueDoor.update(buoy.getX(), buoy.getY()) && listener != null)
+		{
+			listener.doorChanged(blueDoor);
+		}
+		Door redDoor = tileMap.getRedDoor();
+		if (redDoor.update(grill.getX(), grill.getY()) && listener != null)
+		{
+			listener.doorChanged(redDoor);
+		}
+
+		// Check for collisions with treasures (only the ones in the players'
+		// tiles)
+		if (takeTreasures(buoy))
+		{
+			blueDiamond = true;
+		}
+		if (takeTreasures(grill))
+		{
+			redDiamond = true;
+		}
+
+		// Check for the end of the level (when both players are in front of
+		// their respective doors)
+		if (redDoor.isOpen() && blueDoor.isOpen())
+		{
+			finished = true;
+		}
+
+		ticks++;
+	}
+
+	/**
+	 * Runs one tick for each input until the inputs run out or the level is
+	 * finished
+	 * @param inputs the keys that are down during each tick
+	 * @return the number of ticks that were run
+	 */
+	public int run(int[] inputs)
+	{
+		int tick = 0;
+		while (tick < inputs.length && !finished)
+		{
+			step(inputs[tick]);
+			tick++;
+		}
+		return tick;
+	}
+
+	/**
+	 * Takes the treasures a player is touching that it can take
+	 * @param player the player
+	 * @return if the player took a diamond
+	 */
+	private boolean takeTreasures(Player player)
+	{
+		boolean diamond = false;
+		TreasureIndex treasures = tileMap.getTreasures();
+		int cell = treasures.getCell(player.getX(), player.getY());
+		for (int entry = treasures.getFirst(cell); entry < treasures
+				.getEnd(cell); entry++)
+		{
+			Treasure treasure = treasures.getEntry(entry);
+			if (treasure != null
+					&& treasure.contains(player.getX(), player.getY())
+					&& player.canTake(treasure.getType()))
+			{
+				take(treasure, player);
+				if (treasure.isDiamond())
+				{
+					diamond = true;
+				}
+			}
+		}
+		return diamond;
+	}
+
+	/**
+	 * Takes a treasure out of the level and adds its points to the score
+	 * @param treasure the treasure taken
+	 * @param player the player that took it
+	 */
+	private void take(Treasure treasure, Player player)
+	{
+		if (listener != null)
+			listener.treasureTaken(treasure, player);
+		score += treasure.take();
+		tileMap.getTreasures().take(treasure);
+	}
+
+	/**
+	 * Returns the tile map the level is played on
+	 * @return the tile map the level is played on
+	 */
+	public TileMap getTileMap()
+	{
+		return tileMap;
+	}
+
+	/**
+	 * Returns the buoy
+	 * @return the buoy
+	 */
+	public Player getBuoy()
+	{
+		return buoy;
+	}
+
+	/**
+	 * Returns the grill
+	 * @return the grill
+	 */
+	public Player getGrill()
+	{
+		return grill;
+	}
+
+	/**
+	 * Returns the points from the treasures taken since the level started or
+	 * was last reset
+	 * @return the score
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Returns if the grill has taken the red diamond
+	 * @return if the grill has taken the red diamond
+	 */
+	public boolean hasRedDiamond()
+	{
+		return redDiamond;
+	}
+
+	/**
+	 * Returns if the buoy has taken the blue diamond
+	 * @return if the buoy has taken the blue diamond
+	 */
+	public boolean hasBlueDiamond()
+	{
+		return blueDiamond;
+	}
+
+	/**
+	 * Returns if both players are at their doors
+	 * @return if the level is finished
+	 */
+	public boolean isFinished()
+	{
+		return finished;
+	}
+
+	/**
+	 * Returns the number of ticks run
+	 * @return the number of ticks run
+	 */
+	public int getTicks()
+	{
+		return ticks;
+	}
+}
\ No newline at end of file
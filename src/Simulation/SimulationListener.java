@@ -0,0 +1,54 @@
+package Simulation;
+
+import Player.Player;
+import TileMap.Button;
+import TileMap.Door;
+import TileMap.Switch;
+import TileMap.Treasure;
+
+/**
+ * A simulation listener is told when something in a simulation changes how the
+ * level looks so it can be drawn again. A simulation that is not being drawn
+ * doesn't need one
+ * @author Raya and Connor
+ * @version 2
+ */
+public interface SimulationListener
+{
+	/**
+	 * Called when a switch or its laser changes
+	 * @param theSwitch the switch that changed
+	 */
+	void switchChanged(Switch theSwitch);
+
+	/**
+	 * Called when a button or its laser changes
+	 * @param button the button that changed
+	 */
+	void buttonChanged(Button button);
+
+	/**
+	 * Called when a door opens or closes
+	 * @param door the door that changed
+	 */
+	void doorChanged(Door door);
+
+	/**
+	 * Called when a player takes a treasure
+	 * @param treasure the treasure that was taken
+	 * @param player the player that took it
+	 */
+	void treasureTaken(Treasure treasure, Player player);
+
+	/**
+	 * Called when a player dies, just before the level is reset
+	 * @param player the player that died
+	 */
+	void playerDied(Player player);
+
+	/**
+	 * Called when the level is reset because a player died or a reset was
+	 * asked for
+	 */
+	void levelReset();
+}
\ No newline at end of file
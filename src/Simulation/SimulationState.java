@@ -0,0 +1,155 @@
+package Simulation;
+
+import Player.PlayerState;
+
+/**
+ * A simulation state is everything about a simulation that changes while its
+ * level is played. It is saved with Simulation.saveState and put back with
+ * Simulation.restoreState so the same level can be tried many ways from one
+ * point without loading it again
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class SimulationState
+{
+	// Players
+	final PlayerState buoy, grill;
+
+	// Obstacles (see the getState methods in Switch and Button)
+	final int[] switches, buttons;
+	final boolean redDoorOpen, blueDoorOpen;
+
+	// The treasures from the level snapshot that haven't been taken
+	final boolean[] treasures;
+
+	// Score
+	final int score;
+	final boolean redDiamond, blueDiamond;
+
+	// Progress
+	final boolean finished;
+	final int ticks;
+
+	/**
+	 * Saves a simulation's state (see Simulation.saveState)
+	 */
+	SimulationState(PlayerState buoy, PlayerState grill, int[] switches,
+			int[] buttons, boolean redDoorOpen, boolean blueDoorOpen,
+			boolean[] treasures, int score, boolean redDiamond,
+			boolean blueDiamond, boolean finished, int ticks)
+	{
+		this.buoy = buoy;
+		this.grill = grill;
+		this.switches = switches;
+		this.buttons = buttons;
+		this.redDoorOpen = redDoorOpen;
+		this.blueDoorOpen = blueDoorOpen;
+		this.treasures = treasures;
+		this.score = score;
+		this.redDiamond = redDiamond;
+		this.blueDiamond = blueDiamond;
+		this.finished = finished;
+		this.ticks = ticks;
+	}
+
+	/**
+	 * Returns the buoy's state
+	 * @return the buoy's state
+	 */
+	public PlayerState getBuoy()
+	{
+		return buoy;
+	}
+
+	/**
+	 * Returns the grill's state
+	 * @return the grill's state
+	 */
+	public PlayerState getGrill()
+	{
+		return grill;
+	}
+
+	/**
+	 * Returns the state of one of the switches (see Switch.getState)
+	 * @param theSwitch the index of the switch
+	 * @return the state of the switch
+	 */
+	public int getSwitch(int theSwitch)
+	{
+		return switches[theSwitch];
+	}
+
+	/**
+	 * Returns the state of one of the buttons (see Button.getState)
+	 * @param button the index of the button
+	 * @return the state of the button
+	 */
+	public int getButton(int button)
+	{
+		return buttons[button];
+	}
+
+	/**
+	 * Returns the number of switches
+	 * @return the number of switches
+	 */
+	public int getNumSwitches()
+	{
+		return switches.length;
+	}
+
+	/**
+	 * Returns the number of buttons
+	 * @return the number of buttons
+	 */
+	public int getNumButtons()
+	{
+		return buttons.length;
+	}
+
+	/**
+	 * Returns the score
+	 * @return the score
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Returns if the grill has taken the red diamond
+	 * @return if the grill has taken the red diamond
+	 */
+	public boolean hasRedDiamond()
+	{
+		return redDiamond;
+	}
+
+	/**
+	 * Returns if the buoy has taken the blue diamond
+	 * @return if the buoy has taken the blue diamond
+	 */
+	public boolean hasBlueDiamond()
+	{
+		return blueDiamond;
+	}
+
+	/**
+	 * Returns if the level was finished
+	 * @return if the level was finished
+	 */
+	public boolean isFinished()
+	{
+		return finished;
+	}
+
+	/**
+	 * Returns the number of ticks that had been run
+	 * @return the number of ticks that had been run
+	 */
+	public int getTicks()
+	{
+		return ticks;
+	}
+}
\ No newline at end of file
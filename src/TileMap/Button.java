@@ -1,19 +1,19 @@
 package TileMap;
 
-import java.awt.Graphics2D;
-import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import Main.DirtyRegions;
+import Main.SpriteBatch;
 
 /**
  * A button is an object that can be pressed and released. It keeps track of its
  * position and its state(on, off). It can be checked to see if something is on
  * it and reacts accordingly (if someone is on it, it can be on). It also keeps
  * track of what type of button it is based on the types defined in the
- * Obstacles class
+ * Obstacles class. The images are only looked up when it is drawn. The laser
+ * tells the level's laser index whenever it is turned on or off
  * 
  * ON == PRESSED AND BUTTON IS DOWN OFF == UNPRESSED AND BUTTON IS UP
  * @author Connor
- * @version 13
+ * @version 20
  */
 public class Button
 {
@@ -21,15 +21,18 @@ public class Button
 	private int buttonOneX, buttonOneY, buttonTwoX, buttonTwoY, laserX,
 			laserY;
 
-	// Images
-	private BufferedImage buttonOneOn, buttonOneOff, buttonTwoOn, buttonTwoOff;
-	private BufferedImage laserImage;
+	// Types (for the images)
+	private int buttonOneType, buttonTwoType, laserType;
 	private int laserSize;
 
 	// Checks
 	private boolean isButtonOneOn, isButtonTwoOn;
 	private boolean laserOn;
 
+	// Place in the level's laser index
+	private LaserIndex lasers;
+	private int laserNumber;
+
 	private int buttonOnePlayer, buttonTwoPlayer;
 
 	private final int BUOY = -1;
@@ -37,9 +40,8 @@ public class Button
 	private final int GRILL = 1;
 
 	// For collision
-	private Rectangle laser;
-	private Rectangle buttonOne;
-	private Rectangle buttonTwo;
+	private CollisionBox buttonOne;
+	private CollisionBox buttonTwo;
 
 	/**
 	 * Creates a new obstacle with two buttons and a laser
@@ -64,11 +66,9 @@ public class Button
 		this.laserX = laserX;
 		this.laserY = laserY;
 		this.laserSize = laserSize;
-		buttonOneOn = Obstacles.getImage(buttonOneType);
-		buttonOneOff = Obstacles.getImage(buttonOneType + 1);
-		buttonTwoOn = Obstacles.getImage(buttonTwoType);
-		buttonTwoOff = Obstacles.getImage(buttonTwoType + 1);
-		laserImage = Obstacles.getImage(laserType);
+		this.buttonOneType = buttonOneType;
+		this.buttonTwoType = buttonTwoType;
+		this.laserType = laserType;
 		isButtonOneOn = false;
 		isButtonTwoOn = false;
 		laserOn = true;
@@ -76,52 +76,72 @@ public class Button
 		buttonOnePlayer = findPlayer(buttonOneType);
 		buttonTwoPlayer = findPlayer(buttonTwoType);
 
-		// Lasers take up laserSize tiles squares across
-		laser = new Rectangle(laserX, laserY, laserSize * 32, 8);
-		buttonOne = new Rectangle(buttonOneX, buttonOneY, 32, 32);
-		buttonTwo = new Rectangle(buttonTwoX, buttonTwoY, 32, 32);
+		buttonOne = new CollisionBox(buttonOneX, buttonOneY, Tile.SIZE,
+				Tile.SIZE);
+		buttonTwo = new CollisionBox(buttonTwoX, buttonTwoY, Tile.SIZE,
+				Tile.SIZE);
+	}
+
+	/**
+	 * Puts the buttons back to how they were when they were made (not pressed
+	 * with the laser on)
+	 */
+	public void reset()
+	{
+		isButtonOneOn = false;
+		isButtonTwoOn = false;
+		laserOn = true;
+		updateLaserIndex();
+	}
+
+	/**
+	 * Returns the state of the buttons and laser packed into an int so it can
+	 * be saved and put back later (see setState)
+	 * @return the state of the buttons and laser
+	 */
+	public int getState()
+	{
+		return (isButtonOneOn ? 1 : 0) | (isButtonTwoOn ? 2 : 0)
+				| (laserOn ? 4 : 0);
+	}
+
+	/**
+	 * Puts the buttons and laser back into a state returned by getState
+	 * @param state the state to put the buttons and laser in
+	 */
+	public void setState(int state)
+	{
+		isButtonOneOn = (state & 1) != 0;
+		isButtonTwoOn = (state & 2) != 0;
+		laserOn = (state & 4) != 0;
+		updateLaserIndex();
 	}
 
 	/**
 	 * Draws the buttons and lasers in their current states(on or off)
-	 * @param g the graphics to draw with
+	 * @param batch the sprite batch to draw with
 	 */
-	public void draw(Graphics2D g)
+	public void draw(SpriteBatch batch)
 	{
 		if (isButtonOneOn)
-			g.drawImage(buttonOneOn, buttonOneX, buttonOneY, null);
+			batch.draw(Obstacles.getSprite(buttonOneType), buttonOneX,
+					buttonOneY);
 		else
-			g.drawImage(buttonOneOff, buttonOneX, buttonOneY, null);
+			batch.draw(Obstacles.getSprite(buttonOneType + 1), buttonOneX,
+					buttonOneY);
 
 		if (isButtonTwoOn)
-			g.drawImage(buttonTwoOn, buttonTwoX, buttonTwoY, null);
+			batch.draw(Obstacles.getSprite(buttonTwoType), buttonTwoX,
+					buttonTwoY);
 		else
-			g.drawImage(buttonTwoOff, buttonTwoX, buttonTwoY, null);
+			batch.draw(Obstacles.getSprite(buttonTwoType + 1), buttonTwoX,
+					buttonTwoY);
 
 		// Draw the laser
 		if (laserOn)
 			for (int laser = 0; laser < laserSize; laser++)
-				g.drawImage(laserImage, laserX + (laser * 32), laserY, null);
-	}
-
-	/**
-	 * Finds out if the given x and y coordinates are within the bounds of the
-	 * laser
-	 * @param x the x value to check if it is inside the laser
-	 * @param y the x value to check if it is inside the laser
-	 * @return if the given x and y coordinates are within the bounds of the
-	 *         laser
-	 */
-	public boolean hasPlayerInLaser(int x, int y)
-	{
-		if (laserOn)
-		{
-			return laser.contains(x, y);
-		}
-		else
-		{
-			return false;
-		}
+				batch.draw(Obstacles.getSprite(laserType),
+						laserX + (laser * Tile.SIZE), laserY);
 	}
 
 	/**
@@ -159,9 +179,12 @@ public class Button
 	 * @param by the y coordinate of the buoy
 	 * @param gx the x coordinate of the grill
 	 * @param gy the y coordinate of the grill
+	 * @return if the buttons or laser look different than before
 	 */
-	public void update(int bx, int by, int gx, int gy)
+	public boolean update(int bx, int by, int gx, int gy)
 	{
+		boolean wasButtonOneOn = isButtonOneOn, wasButtonTwoOn = isButtonTwoOn;
+		boolean wasLaserOn = laserOn;
 		boolean buttonOneContains = false, buttonTwoContains = false;
 
 		// Find out if either button has their player on it
@@ -225,5 +248,94 @@ public class Button
 		{
 			laserOn = true;
 		}
+		updateLaserIndex();
+
+		return isButtonOneOn != wasButtonOneOn
+				|| isButtonTwoOn != wasButtonTwoOn || laserOn != wasLaserOn;
+	}
+
+	/**
+	 * Returns which of the buttons a point is on (whichever player they are
+	 * for)
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return 1 if the point is on the first button, 2 if it is on the second
+	 *         and 0 if it is on neither
+	 */
+	public int getButtonAt(int x, int y)
+	{
+		return (buttonOne.contains(x, y) ? 1 : 0)
+				| (buttonTwo.contains(x, y) ? 2 : 0);
+	}
+
+	/**
+	 * Returns the x coordinate of the laser
+	 * @return the x coordinate of the laser
+	 */
+	public int getLaserX()
+	{
+		return laserX;
+	}
+
+	/**
+	 * Returns the y coordinate of the laser
+	 * @return the y coordinate of the laser
+	 */
+	public int getLaserY()
+	{
+		return laserY;
+	}
+
+	/**
+	 * Returns how many tiles across the laser is
+	 * @return how many tiles across the laser is
+	 */
+	public int getLaserSize()
+	{
+		return laserSize;
+	}
+
+	/**
+	 * Returns the width of the laser in pixels
+	 * @return the width of the laser in pixels
+	 */
+	public int getLaserWidth()
+	{
+		return laserSize * Tile.SIZE;
+	}
+
+	/**
+	 * Gives the laser its place in the level's laser index
+	 * @param lasers the level's laser index
+	 * @param number the number of the laser in the index
+	 */
+	void setLaserIndex(LaserIndex lasers, int number)
+	{
+		this.lasers = lasers;
+		laserNumber = number;
+		updateLaserIndex();
+	}
+
+	/**
+	 * Tells the laser index if the laser is on
+	 */
+	private void updateLaserIndex()
+	{
+		if (lasers != null)
+		{
+			lasers.setOn(laserNumber, laserOn);
+		}
+	}
+
+	/**
+	 * Adds the areas the buttons and their laser are drawn in to the given
+	 * regions
+	 * @param regions the regions to add to
+	 */
+	public void addBounds(DirtyRegions regions)
+	{
+		regions.add(buttonOneX, buttonOneY, Tile.SIZE, Tile.SIZE);
+		regions.add(buttonTwoX, buttonTwoY, Tile.SIZE, Tile.SIZE);
+		regions.add(laserX, laserY, laserSize * Tile.SIZE, Tile.SIZE);
 	}
 }
\ No newline at end of file
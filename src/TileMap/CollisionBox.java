@@ -0,0 +1,43 @@
+package TileMap;
+
+/**
+ * A collision box is the rectangle an obstacle, treasure or door checks the
+ * players against. It only holds numbers so checking collisions never has to
+ * load any of the AWT (which a Rectangle does)
+ * @author Raya and Connor
+ * @version 1
+ */
+final class CollisionBox
+{
+	// Bounds
+	private final int x, y;
+	private final int width, height;
+
+	/**
+	 * Makes a collision box
+	 * @param x the x coordinate of the top left corner
+	 * @param y the y coordinate of the top left corner
+	 * @param width the width of the box
+	 * @param height the height of the box
+	 */
+	CollisionBox(int x, int y, int width, int height)
+	{
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Returns if the given point is in the box (in the same way as
+	 * Rectangle.contains)
+	 * @param pointX the x coordinate of the point
+	 * @param pointY the y coordinate of the point
+	 * @return if the point is in the box
+	 */
+	boolean contains(int pointX, int pointY)
+	{
+		return pointX >= x && pointY >= y && pointX - x < width
+				&& pointY - y < height;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package TileMap;
+
+import Main.GamePanel;
+
+/**
+ * The type of every tile in a map (see the types in the Tile class) kept in one
+ * flat array so finding the type of a tile is a single array lookup. Players
+ * are kept on the screen (not the map, which can be smaller), so the array
+ * covers the whole screen as well as the map and a border of blocked tiles
+ * around both. Every tile outside of the map is blocked without having to
+ * check if it is in the map. Players never look further than one tile past
+ * the sides and bottom of the screen or further above it than a jump, so the
+ * border is wide enough for every lookup the game makes
+ * @author Raya and Connor
+ * @version 2
+ */
+public class CollisionMap
+{
+	// Number of blocked tiles on each side of the map and screen (a jump
+	// rises about 3 tiles)
+	public static final int BORDER = 4;
+
+	// Types (covering the larger of the map and the screen)
+	private final byte[] types;
+	private final int stride;
+	private final int numRows;
+	private final int numColumns;
+
+	/**
+	 * Creates a collision map where every tile is blocked
+	 * @param numRows the number of rows in the map
+	 * @param numColumns the number of columns in the map
+	 */
+	public CollisionMap(int numRows, int numColumns)
+	{
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+		int coveredRows = Math.max(numRows, GamePanel.HEIGHT / Tile.SIZE);
+		int coveredColumns = Math.max(numColumns, GamePanel.WIDTH / Tile.SIZE);
+		stride = coveredColumns + 2 * BORDER;
+		types = new byte[(coveredRows + 2 * BORDER) * stride];
+		for (int tile = 0; tile < types.length; tile++)
+		{
+			types[tile] = Tile.BLOCKED;
+		}
+	}
+
+	/**
+	 * Sets the type of the tile
+	 * @param row The row of the tile
+	 * @param column The column of the tile
+	 * @param type the type of tile
+	 * @throws IndexOutOfBoundsException if the tile is not in the map
+	 */
+	public void setType(int row, int column, int type)
+	{
+		if (row < 0 || row >= numRows || column < 0 || column >= numColumns)
+		{
+			throw new IndexOutOfBoundsException("Tile " + row + ", " + column
+					+ " is not in the map");
+		}
+		types[(row + BORDER) * stride + column + BORDER] = (byte) type;
+	}
+
+	/**
+	 * Returns the type of tile. Tiles outside of the map are blocked as long
+	 * as they are on the screen or up to BORDER tiles outside of it
+	 * @param row The row of the tile
+	 * @param column The column of the tile
+	 * @return the type of tile
+	 */
+	public int getType(int row, int column)
+	{
+		return types[(row + BORDER) * stride + column + BORDER];
+	}
+
+	/**
+	 * Returns the number of rows in the map
+	 * @return the number of rows in the map
+	 */
+	public int getNumRows()
+	{
+		return numRows;
+	}
+
+	/**
+	 * Returns the number of columns in the map
+	 * @return the number of columns in the map
+	 */
+	public int getNumColumns()
+	{
+		return numColumns;
+	}
+}
\ No newline at end of file
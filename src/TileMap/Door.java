@@ -1,28 +1,23 @@
 package TileMap;
 
-import java.awt.Graphics2D;
-import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
+import Main.DirtyRegions;
+import Main.SpriteBatch;
 
 /**
  * A door is the exit of the game. It is not a tile because it takes up more
- * than one tile space
+ * than one tile space. The images are only looked up when it is drawn
  * @author Connor
- * @version 4
+ * @version 8
  */
 public class Door
 {
 	// Coordinates
 	private int x, y;
-	private Rectangle door;
+	private CollisionBox door;
 
 	// Colour
 	private int doorColour;
 
-	// Images
-	private BufferedImage doorOpenImage, doorClosedImage;
-
 	// Checks
 	private boolean open;
 
@@ -30,31 +25,28 @@ public class Door
 	 * Makes a new door object that players go through to end the level
 	 * @param x the x coordinate of the door
 	 * @param y the y coordinate of the door
-	 * @param colour 1 for red -1 for blue
-	 * @throws IOException if the images cannot be properly loaded
+	 * @param colour the colour of the door as defined by the Doors class
 	 */
-	public Door(int x, int y, int colour) throws IOException
+	public Door(int x, int y, int colour)
 	{
 		this.x = x;
 		this.y = y;
 		doorColour = colour;
 		open = false;
-		doorOpenImage = Doors.getImage(doorColour);
-		doorClosedImage = Doors.getImage(Doors.CLOSED);
 
-		door = new Rectangle(x, y + 14, 32, 50);
+		door = new CollisionBox(x, y + 14, Tile.SIZE, 50);
 	}
 
 	/**
 	 * Draws the door at its x and y coordinates
-	 * @param g the graphics to draw with
+	 * @param batch the sprite batch to draw with
 	 */
-	public void draw(Graphics2D g)
+	public void draw(SpriteBatch batch)
 	{
 		if (!open)
-			g.drawImage(doorOpenImage, x, y, null);
+			batch.draw(Doors.getSprite(doorColour), x, y);
 		else
-			g.drawImage(doorClosedImage, x, y, null);
+			batch.draw(Doors.getSprite(Doors.CLOSED), x, y);
 	}
 
 	/**
@@ -62,9 +54,11 @@ public class Door
 	 * door's state accordingly (open if they are in the door, closed if not)
 	 * @param x the given x coordinate
 	 * @param y the given y coordinate
+	 * @return if the door opened or closed
 	 */
-	public void update(int x, int y)
+	public boolean update(int x, int y)
 	{
+		boolean wasOpen = open;
 		if (door.contains(x, y))
 		{
 			open();
@@ -73,6 +67,26 @@ public class Door
 		{
 			close();
 		}
+
+		return open != wasOpen;
+	}
+
+	/**
+	 * Adds the area the door is drawn in to the given regions
+	 * @param regions the regions to add to
+	 */
+	public void addBounds(DirtyRegions regions)
+	{
+		// Doors are one tile wide and two tiles tall
+		regions.add(x, y, Tile.SIZE, 2 * Tile.SIZE);
+	}
+
+	/**
+	 * Closes the door like it was when it was made
+	 */
+	public void reset()
+	{
+		close();
 	}
 
 	/**
@@ -100,4 +114,32 @@ public class Door
 		return open;
 	}
 
+	/**
+	 * Opens or closes the door without checking for a player (for putting
+	 * back a saved state)
+	 * @param open if the door should be open
+	 */
+	public void setOpen(boolean open)
+	{
+		this.open = open;
+	}
+
+	/**
+	 * Returns the x coordinate of the door
+	 * @return the x coordinate of the door
+	 */
+	public int getX()
+	{
+		return x;
+	}
+
+	/**
+	 * Returns the y coordinate of the door
+	 * @return the y coordinate of the door
+	 */
+	public int getY()
+	{
+		return y;
+	}
+
 }
\ No newline at end of file
@@ -3,12 +3,14 @@ package TileMap;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
+import Main.Assets;
+import Main.Sprite;
+import Main.SpriteAtlas;
 
 /**
  * Loads the door images from the resource folder
  * @author Connor
- * @version 2
+ * @version 4
  */
 public final class Doors
 {
@@ -18,21 +20,19 @@ public final class Doors
 
 	// Images
 	private static BufferedImage[] doors;
+	private static Sprite[] sprites;
 
 	/**
-	 * Load the images
+	 * Load the images (from the assets, so they are only decoded once)
 	 * @throws IOException if the images could not be successfully loaded
 	 */
 	public static void load() throws IOException
 	{
 		doors = new BufferedImage[3];
 
-		doors[0] = ImageIO.read(Doors.class
-				.getResourceAsStream("/Obstacles/doorClosedRed.png"));
-		doors[1] = ImageIO.read(Doors.class
-				.getResourceAsStream("/Obstacles/doorClosedBlue.png"));
-		doors[2] = ImageIO.read(Doors.class
-				.getResourceAsStream("/Obstacles/doorOpen.png"));
+		doors[0] = Assets.getImage("/Obstacles/doorClosedRed.png");
+		doors[1] = Assets.getImage("/Obstacles/doorClosedBlue.png");
+		doors[2] = Assets.getImage("/Obstacles/doorOpen.png");
 	}
 
 	/**
@@ -51,4 +51,33 @@ public final class Doors
 					"type must be a defined Obstacles (0 - 2)");
 	}
 
+	/**
+	 * Adds the images to a sprite atlas so they can be drawn with a sprite
+	 * batch
+	 * @param atlas the atlas to add the images to
+	 */
+	static void addSprites(SpriteAtlas atlas)
+	{
+		sprites = new Sprite[doors.length];
+		for (int type = 0; type < sprites.length; type++)
+		{
+			sprites[type] = atlas.add(doors[type]);
+		}
+	}
+
+	/**
+	 * Return the sprite for the image desired
+	 * @param type the specified image to get
+	 * @throws IllegalArgumentException if the given type is less than 0 or
+	 *             greater than 2
+	 * @return the sprite for the image desired
+	 */
+	public static Sprite getSprite(int type)
+	{
+		if (type >= 0 && type <= 2)
+			return sprites[type];
+		else
+			throw new IllegalArgumentException(
+					"type must be a defined Obstacles (0 - 2)");
+	}
 }
\ No newline at end of file
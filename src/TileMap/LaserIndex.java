@@ -0,0 +1,224 @@
+package TileMap;
+
+import java.util.ArrayList;
+
+/**
+ * The laser index keeps the lasers of a level's switches and buttons by the
+ * rows of tiles they are in, so checking if a player hits a laser only looks
+ * at the lasers in the player's row instead of every obstacle in the level.
+ * Lasers never move, so each row's lasers are sorted by where they start
+ * once when the level is loaded and the ones a point could be in are found
+ * with a binary search. Whether each laser is on is kept in a bitset that the
+ * switches and buttons update whenever their laser is turned on or off.
+ * Switches are numbered first (in the order they are in the level) then
+ * buttons
+ * @author Raya and Connor
+ * @version 3
+ */
+public class LaserIndex
+{
+	// Height of every laser
+	private static final int HEIGHT = 8;
+
+	// Bounds of each laser
+	private final int[] xs, ys, widths;
+
+	// Which lasers are on (one bit each)
+	private final long[] on;
+
+	// Grid of rows
+	private final int tileSize, numRows;
+
+	// Where each row's lasers start in entries (sorted by x in each row) and
+	// the widest laser in each row
+	private final int[] rowStarts;
+	private final int[] entries;
+	private final int[] widest;
+
+	/**
+	 * Indexes the lasers of a level
+	 * @param switches the level's switches
+	 * @param buttons the level's buttons
+	 * @param numRows the number of rows of tiles in the level
+	 * @param tileSize the size of the tiles
+	 */
+	LaserIndex(ArrayList<Switch> switches, ArrayList<Button> buttons,
+			int numRows, int tileSize)
+	{
+		int numLasers = switches.size() + buttons.size();
+		xs = new int[numLasers];
+		ys = new int[numLasers];
+		widths = new int[numLasers];
+		on = new long[(numLasers + 63) / 64];
+		this.tileSize = tileSize;
+		this.numRows = numRows;
+
+		for (int aSwitch = 0; aSwitch < switches.size(); aSwitch++)
+		{
+			Switch theSwitch = switches.get(aSwitch);
+			xs[aSwitch] = theSwitch.getLaserX();
+			ys[aSwitch] = theSwitch.getLaserY();
+			widths[aSwitch] = theSwitch.getLaserWidth();
+			theSwitch.setLaserIndex(this, aSwitch);
+		}
+		for (int aButton = 0; aButton < buttons.size(); aButton++)
+		{
+			int laser = switches.size() + aButton;
+			Button button = buttons.get(aButton);
+			xs[laser] = button.getLaserX();
+			ys[laser] = button.getLaserY();
+			widths[laser] = button.getLaserWidth();
+			button.setLaserIndex(this, laser);
+		}
+
+		// Count the lasers in each row then give each row its place
+		rowStarts = new int[numRows + 1];
+		widest = new int[numRows];
+		for (int laser = 0; laser < numLasers; laser++)
+		{
+			for (int row = firstRow(laser); row <= lastRow(laser); row++)
+			{
+				rowStarts[row + 1]++;
+				widest[row] = Math.max(widest[row], widths[laser]);
+			}
+		}
+		for (int row = 0; row < numRows; row++)
+		{
+			rowStarts[row + 1] += rowStarts[row];
+		}
+
+		// Put each laser into its rows, keeping each row sorted by x (there
+		// are only a few lasers in a row)
+		int[] next = new int[numRows];
+		System.arraycopy(rowStarts, 0, next, 0, numRows);
+		entries = new int[rowStarts[numRows]];
+		for (int laser = 0; laser < numLasers; laser++)
+		{
+			for (int row = firstRow(laser); row <= lastRow(laser); row++)
+			{
+				int entry = next[row]++;
+				while (entry > rowStarts[row]
+						&& xs[entries[entry - 1]] > xs[laser])
+				{
+					entries[entry] = entries[entry - 1];
+					entry--;
+				}
+				entries[entry] = laser;
+			}
+		}
+	}
+
+	/**
+	 * Returns if a point is in a laser that is on
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return if the point is in a laser that is on
+	 */
+	public boolean hits(int x, int y)
+	{
+		if (y < 0 || y / tileSize >= numRows)
+		{
+			return false;
+		}
+		int row = y / tileSize;
+
+		// Find the last laser in the row that starts at or before x
+		int low = rowStarts[row];
+		int high = rowStarts[row + 1] - 1;
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+			if (xs[entries[middle]] <= x)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+
+		// Only lasers that start less than the widest laser's width before x
+		// can reach it
+		for (int entry = high; entry >= rowStarts[row]
+				&& x - xs[entries[entry]] < widest[row]; entry--)
+		{
+			int laser = entries[entry];
+			if (isOn(laser) && x - xs[laser] < widths[laser] && y >= ys[laser]
+					&& y - ys[laser] < HEIGHT)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns if a point is in a laser, whether it is on or not
+	 * @param laser the number of the laser
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return if the point is in the laser
+	 */
+	public boolean covers(int laser, int x, int y)
+	{
+		return x >= xs[laser] && x - xs[laser] < widths[laser]
+				&& y >= ys[laser] && y - ys[laser] < HEIGHT;
+	}
+
+	/**
+	 * Returns the number of lasers in the level
+	 * @return the number of lasers in the level
+	 */
+	public int size()
+	{
+		return xs.length;
+	}
+
+	/**
+	 * Returns if a laser is on
+	 * @param laser the number of the laser
+	 * @return if the laser is on
+	 */
+	public boolean isOn(int laser)
+	{
+		return (on[laser >> 6] & (1L << laser)) != 0;
+	}
+
+	/**
+	 * Turns a laser on or off. Called by the laser's switch or button
+	 * @param laser the number of the laser
+	 * @param isOn if the laser is on
+	 */
+	void setOn(int laser, boolean isOn)
+	{
+		if (isOn)
+		{
+			on[laser >> 6] |= 1L << laser;
+		}
+		else
+		{
+			on[laser >> 6] &= ~(1L << laser);
+		}
+	}
+
+	/**
+	 * Returns the first row of tiles a laser is in
+	 * @param laser the number of the laser
+	 * @return the first row the laser is in
+	 */
+	private int firstRow(int laser)
+	{
+		return Math.max(0, ys[laser] / tileSize);
+	}
+
+	/**
+	 * Returns the last row of tiles a laser is in
+	 * @param laser the number of the laser
+	 * @return the last row the laser is in
+	 */
+	private int lastRow(int laser)
+	{
+		return Math.min(numRows - 1, (ys[laser] + HEIGHT - 1) / tileSize);
+	}
+}
\ No newline at end of file
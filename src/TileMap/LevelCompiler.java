@@ -0,0 +1,374 @@
+package TileMap;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Turns the .lvl text files that levels are written in into the compiled
+ * format the game loads (see LevelFormat). With no arguments every level in
+ * Resources/Levels is compiled into Resources/Levels/Levels.pack in level
+ * number order. Otherwise the first argument is the file to write and the rest
+ * are the .lvl files or folders of .lvl files to put in it. A .pack file holds
+ * all of the levels given and a .lvlb file holds one level
+ * @author Raya and Connor
+ * @version 3
+ */
+public class LevelCompiler
+{
+	// Map
+	private int numRows;
+	private int numColumns;
+	private byte[] tiles;
+
+	// Players and doors
+	private int buoyColumn = -1, buoyRow = -1;
+	private int grillColumn = -1, grillRow = -1;
+	private int redDoorColumn = -1, redDoorRow = -1;
+	private int blueDoorColumn = -1, blueDoorRow = -1;
+
+	// Treasures, switches and buttons (the numbers from the level file)
+	private ArrayList<int[]> treasures = new ArrayList<int[]>();
+	private ArrayList<int[]> switches = new ArrayList<int[]>();
+	private ArrayList<int[]> buttons = new ArrayList<int[]>();
+
+	/**
+	 * Compiles the given level files and folders into a level pack or a
+	 * single compiled level
+	 * @param args the file to write then the .lvl files or folders of .lvl
+	 *            files to compile
+	 * @throws IOException if a level could not be read or written
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length == 0)
+		{
+			args = new String[] { "Resources/Levels/Levels"
+					+ LevelFormat.PACK_EXTENSION, "Resources/Levels" };
+		}
+		else if (args.length < 2)
+		{
+			System.err.println("Usage: LevelCompiler <output.pack|output.lvlb>"
+					+ " <level.lvl|folder>...");
+			System.exit(1);
+		}
+
+		ArrayList<File> levels = findLevels(Arrays.copyOfRange(args, 1,
+				args.length));
+		byte[][] compiled = new byte[levels.size()][];
+		for (int level = 0; level < compiled.length; level++)
+		{
+			compiled[level] = compile(levels.get(level));
+			System.out.println(levels.get(level) + " -> " + args[0] + " ("
+					+ (level + 1) + ")");
+		}
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(args[0])));
+		try
+		{
+			if (args[0].endsWith(LevelFormat.PACK_EXTENSION))
+			{
+				writePack(out, compiled);
+			}
+			else if (compiled.length == 1)
+			{
+				out.write(compiled[0]);
+			}
+			else
+			{
+				throw new IllegalArgumentException(
+						"A compiled level file can only hold one level");
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Finds the level files in the given files and folders. The .lvl files in
+	 * a folder are in level number order
+	 * @param paths the .lvl files or folders of .lvl files
+	 * @return the level files
+	 */
+	public static ArrayList<File> findLevels(String[] paths)
+	{
+		ArrayList<File> levels = new ArrayList<File>();
+		for (int path = 0; path < paths.length; path++)
+		{
+			File file = new File(paths[path]);
+			if (file.isDirectory())
+			{
+				File[] files = file.listFiles();
+				Arrays.sort(files, new Comparator<File>()
+				{
+					public int compare(File one, File two)
+					{
+						return levelNumber(one) - levelNumber(two);
+					}
+				});
+				for (int level = 0; level < files.length; level++)
+				{
+					if (files[level].getName().endsWith(
+							LevelFormat.TEXT_EXTENSION))
+					{
+						levels.add(files[level]);
+					}
+				}
+			}
+			else
+			{
+				levels.add(file);
+			}
+		}
+		return levels;
+	}
+
+	/**
+	 * Returns the number in a level file's name (10 for Level10.lvl) so the
+	 * levels in a folder are packed in order
+	 * @param levelFile the level file
+	 * @return the number in the level file's name or 0 if there isn't one
+	 */
+	private static int levelNumber(File levelFile)
+	{
+		int number = 0;
+		String name = levelFile.getName();
+		for (int index = 0; index < name.length(); index++)
+		{
+			char character = name.charAt(index);
+			if (character >= '0' && character <= '9')
+			{
+				number = number * 10 + (character - '0');
+			}
+		}
+		return number;
+	}
+
+	/**
+	 * Compiles one level file
+	 * @param levelFile the .lvl file to compile
+	 * @return the compiled level
+	 * @throws IOException if the level could not be read
+	 */
+	public static byte[] compile(File levelFile) throws IOException
+	{
+		LevelCompiler compiler = new LevelCompiler();
+		BufferedReader reader = new BufferedReader(new FileReader(levelFile));
+		try
+		{
+			compiler.parse(reader);
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		compiler.write(out);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Writes the compiled levels as a level pack (see LevelFormat)
+	 * @param out where to write the pack
+	 * @param levels the compiled levels in order
+	 * @throws IOException if the pack could not be written
+	 */
+	private static void writePack(DataOutputStream out, byte[][] levels)
+			throws IOException
+	{
+		out.writeInt(LevelFormat.PACK_MAGIC);
+		out.writeShort(LevelFormat.PACK_VERSION);
+		out.writeShort(levels.length);
+
+		// Index of where each level starts and how long it is
+		int offset = LevelFormat.PACK_HEADER_SIZE
+				+ levels.length * LevelFormat.PACK_INDEX_SIZE;
+		for (int level = 0; level < levels.length; level++)
+		{
+			out.writeInt(offset);
+			out.writeInt(levels[level].length);
+			offset += levels[level].length;
+		}
+
+		for (int level = 0; level < levels.length; level++)
+		{
+			out.write(levels[level]);
+		}
+	}
+
+	/**
+	 * Reads a level in the text format. Tile numbers under 100 are regular
+	 * tiles, 100 and 101 are the buoy and grill start points, 200s are
+	 * treasures and 300 and 301 are the red and blue doors. After the map is
+	 * the number of obstacles then one Switch or Button line for each
+	 * @param read the level file
+	 * @throws IOException if the level file could not be read
+	 */
+	private void parse(BufferedReader read) throws IOException
+	{
+		// Get number of rows and columns
+		numColumns = Integer.parseInt(read.readLine().trim());
+		numRows = Integer.parseInt(read.readLine().trim());
+		tiles = new byte[numRows * numColumns];
+
+		String delims = "\\s+";
+		for (int row = 0; row < numRows; row++)
+		{
+			String[] tokens = read.readLine().trim().split(delims);
+			for (int column = 0; column < numColumns; column++)
+			{
+				int tileType = Integer.parseInt(tokens[column]);
+
+				if (tileType < 100)
+				{
+					tiles[row * numColumns + column] = (byte) tileType;
+				}
+				else if (tileType == 100)
+				{
+					buoyColumn = column;
+					buoyRow = row;
+				}
+				else if (tileType < 200)
+				{
+					grillColumn = column;
+					grillRow = row;
+				}
+				else if (tileType < 300)
+				{
+					treasures.add(new int[] { tileType - 200, column, row });
+				}
+				else if (tileType == 300)
+				{
+					redDoorColumn = column;
+					redDoorRow = row;
+				}
+				else if (tileType < 400)
+				{
+					blueDoorColumn = column;
+					blueDoorRow = row;
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown tile "
+							+ tileType + " at row " + row + " column "
+							+ column);
+				}
+			}
+		}
+
+		if (buoyRow < 0 || grillRow < 0 || redDoorRow < 0 || blueDoorRow < 0)
+		{
+			throw new IllegalArgumentException(
+					"A level needs both players and both doors");
+		}
+
+		// Read the obstacles
+		int noObstacles = Integer.parseInt(read.readLine().trim());
+		for (int obstacle = 0; obstacle < noObstacles; obstacle++)
+		{
+			String[] paramaters = read.readLine().trim().split(delims);
+			int[] numbers = new int[paramaters.length - 1];
+			for (int number = 0; number < numbers.length; number++)
+			{
+				numbers[number] = Integer.parseInt(paramaters[number + 1]);
+			}
+
+			// Parameters in comments in all .lvl files
+			if (paramaters[0].equalsIgnoreCase("Switch") && numbers.length == 7)
+			{
+				switches.add(numbers);
+			}
+			else if (paramaters[0].equalsIgnoreCase("Button")
+					&& numbers.length == 10)
+			{
+				buttons.add(numbers);
+			}
+			else
+			{
+				throw new IllegalArgumentException("Unknown obstacle: "
+						+ paramaters[0]);
+			}
+		}
+	}
+
+	/**
+	 * Writes the level in the compiled format
+	 * @param out where to write the level
+	 * @throws IOException if the level could not be written
+	 */
+	private void write(DataOutputStream out) throws IOException
+	{
+		// Header
+		out.writeInt(LevelFormat.MAGIC);
+		out.writeShort(LevelFormat.VERSION);
+		out.writeShort(numColumns);
+		out.writeShort(numRows);
+
+		// Tiles
+		out.write(tiles);
+
+		// Players and doors
+		out.writeShort(buoyColumn);
+		out.writeShort(buoyRow);
+		out.writeShort(grillColumn);
+		out.writeShort(grillRow);
+		out.writeShort(redDoorColumn);
+		out.writeShort(redDoorRow);
+		out.writeShort(blueDoorColumn);
+		out.writeShort(blueDoorRow);
+
+		// Treasures
+		out.writeShort(treasures.size());
+		for (int treasure = 0; treasure < treasures.size(); treasure++)
+		{
+			int[] numbers = treasures.get(treasure);
+			out.writeByte(numbers[0]);
+			out.writeShort(numbers[1]);
+			out.writeShort(numbers[2]);
+		}
+
+		// Switches
+		out.writeShort(switches.size());
+		for (int theSwitch = 0; theSwitch < switches.size(); theSwitch++)
+		{
+			int[] numbers = switches.get(theSwitch);
+			for (int number = 0; number < 3; number++)
+			{
+				out.writeByte(numbers[number]);
+			}
+			for (int number = 3; number < 7; number++)
+			{
+				out.writeShort(numbers[number]);
+			}
+		}
+
+		// Buttons
+		out.writeShort(buttons.size());
+		for (int theButton = 0; theButton < buttons.size(); theButton++)
+		{
+			int[] numbers = buttons.get(theButton);
+			for (int number = 0; number < 4; number++)
+			{
+				out.writeByte(numbers[number]);
+			}
+			for (int number = 4; number < 10; number++)
+			{
+				out.writeShort(numbers[number]);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package TileMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Describes the compiled (binary) level format made by the LevelCompiler and
+ * read by the TileMap. All numbers are big endian. Coordinates are in tiles.
+ * A level pack (read by LevelPack) is a header, an index and then the compiled
+ * levels one after another.
+ *
+ * <pre>
+ * header     int magic ("FGWB"), short version, short columns, short rows
+ * tiles      byte[rows * columns] tile numbers, row by row
+ * players    short column, short row for the buoy then the grill
+ * doors      short column, short row for the red door then the blue door
+ * treasures  short count, then byte type, short column, short row each
+ * switches   short count, then byte switch type, byte laser type,
+ *            byte laser size, short switch column, short switch row,
+ *            short laser column, short laser row each
+ * buttons    short count, then byte button one type, byte button two type,
+ *            byte laser type, byte laser size, short button one column,
+ *            short button one row, short button two column,
+ *            short button two row, short laser column, short laser row each
+ *
+ * pack       int magic ("FGWP"), short version, short number of levels,
+ *            then int offset from the start of the pack, int length for each
+ *            level, then the compiled levels
+ * </pre>
+ * @author Raya and Connor
+ * @version 3
+ */
+final class LevelFormat
+{
+	// Header
+	static final int MAGIC = 0x46475742;
+	static final short VERSION = 1;
+
+	// Level packs
+	static final int PACK_MAGIC = 0x46475750;
+	static final short PACK_VERSION = 1;
+	static final int PACK_HEADER_SIZE = 8;
+	static final int PACK_INDEX_SIZE = 8;
+
+	// File extensions
+	static final String TEXT_EXTENSION = ".lvl";
+	static final String PACK_EXTENSION = ".pack";
+
+	private LevelFormat()
+	{
+	}
+
+	/**
+	 * Reads the whole stream into a buffer and closes it
+	 * @param in the stream to read
+	 * @return a buffer holding everything in the stream
+	 * @throws IOException if the stream could not be read
+	 */
+	static ByteBuffer read(InputStream in) throws IOException
+	{
+		try
+		{
+			byte[] bytes = new byte[4096];
+			int length = 0;
+			int read;
+			while ((read = in.read(bytes, length, bytes.length - length)) != -1)
+			{
+				length += read;
+				if (length == bytes.length)
+				{
+					bytes = Arrays.copyOf(bytes, bytes.length * 2);
+				}
+			}
+			return ByteBuffer.wrap(bytes, 0, length);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+}
\ No newline at end of file
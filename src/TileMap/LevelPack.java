@@ -0,0 +1,143 @@
+package TileMap;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A level pack is one file holding many compiled levels with an index of where
+ * each one starts (see LevelFormat). The pack is memory mapped once and each
+ * level is read straight out of it when it is needed. Packs inside a jar can't
+ * be mapped so they are read into memory instead
+ * @author Raya and Connor
+ * @version 1
+ */
+public class LevelPack
+{
+	// The pack the game ships with
+	public static final String DEFAULT_PACK = "/Levels/Levels.pack";
+	private static LevelPack defaultPack;
+
+	// Pack
+	private final ByteBuffer pack;
+	private final int numLevels;
+
+	/**
+	 * Checks the pack's header
+	 * @param pack the whole pack
+	 * @throws IOException if it is not a level pack of the right version
+	 */
+	private LevelPack(ByteBuffer pack) throws IOException
+	{
+		this.pack = pack;
+		if (pack.getInt(0) != LevelFormat.PACK_MAGIC)
+		{
+			throw new IOException("Not a level pack");
+		}
+		if (pack.getShort(4) != LevelFormat.PACK_VERSION)
+		{
+			throw new IOException("Level pack is the wrong version");
+		}
+		numLevels = pack.getShort(6);
+	}
+
+	/**
+	 * Opens the level pack with the given resource name
+	 * @param packName the resource name of the pack
+	 * @return the level pack
+	 * @throws IOException if the pack could not be found or read
+	 */
+	public static LevelPack open(String packName) throws IOException
+	{
+		URL url = LevelPack.class.getResource(packName);
+		if (url == null)
+		{
+			throw new FileNotFoundException(packName);
+		}
+
+		if (url.getProtocol().equals("file"))
+		{
+			// The mapping stays valid after the channel is closed
+			FileChannel channel;
+			try
+			{
+				channel = FileChannel.open(Paths.get(url.toURI()),
+						StandardOpenOption.READ);
+			}
+			catch (URISyntaxException e)
+			{
+				throw new IOException(e);
+			}
+			try
+			{
+				return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY,
+						0, channel.size()));
+			}
+			finally
+			{
+				channel.close();
+			}
+		}
+		else
+		{
+			InputStream in = url.openStream();
+			return new LevelPack(LevelFormat.read(in));
+		}
+	}
+
+	/**
+	 * Returns the level pack the game ships with, opening it the first time
+	 * @return the level pack the game ships with
+	 * @throws IOException if the pack could not be found or read
+	 */
+	public static synchronized LevelPack getDefault() throws IOException
+	{
+		if (defaultPack == null)
+		{
+			defaultPack = open(DEFAULT_PACK);
+		}
+		return defaultPack;
+	}
+
+	/**
+	 * Returns the number of levels in the pack
+	 * @return the number of levels in the pack
+	 */
+	public int getNumLevels()
+	{
+		return numLevels;
+	}
+
+	/**
+	 * Returns the given compiled level. The buffer is a view into the pack so
+	 * nothing is copied, and each call gets its own buffer so levels can be
+	 * read on more than one thread
+	 * @param level the level number (starting at 1)
+	 * @return the compiled level
+	 * @throws IllegalArgumentException if the pack does not have the level
+	 */
+	public ByteBuffer getLevel(int level)
+	{
+		if (level < 1 || level > numLevels)
+		{
+			throw new IllegalArgumentException("level must be in the pack (1 - "
+					+ numLevels + ")");
+		}
+
+		int index = LevelFormat.PACK_HEADER_SIZE + (level - 1)
+				* LevelFormat.PACK_INDEX_SIZE;
+		int offset = pack.getInt(index);
+		int length = pack.getInt(index + 4);
+
+		ByteBuffer buffer = pack.duplicate();
+		buffer.limit(offset + length);
+		buffer.position(offset);
+		return buffer.slice();
+	}
+}
\ No newline at end of file
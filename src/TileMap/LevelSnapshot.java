@@ -0,0 +1,95 @@
+package TileMap;
+
+import java.util.ArrayList;
+
+/**
+ * A snapshot of how a level looks when it is first loaded. It is taken once
+ * when the level file is read so the level can be reset without reading the
+ * file again. Treasures never change after they are made so the same treasure
+ * objects are put back into the level
+ * @author Raya and Connor
+ * @version 3
+ */
+public final class LevelSnapshot
+{
+	// Start points
+	private final int buoyStartX, buoyStartY;
+	private final int grillStartX, grillStartY;
+
+	// Coins and diamonds
+	private final Treasure[] treasures;
+
+	/**
+	 * Takes a snapshot of the level
+	 * @param buoyStartX the x coordinate the buoy starts at
+	 * @param buoyStartY the y coordinate the buoy starts at
+	 * @param grillStartX the x coordinate the grill starts at
+	 * @param grillStartY the y coordinate the grill starts at
+	 * @param treasures the treasures in the level when it starts
+	 */
+	LevelSnapshot(int buoyStartX, int buoyStartY, int grillStartX,
+			int grillStartY, ArrayList<Treasure> treasures)
+	{
+		this.buoyStartX = buoyStartX;
+		this.buoyStartY = buoyStartY;
+		this.grillStartX = grillStartX;
+		this.grillStartY = grillStartY;
+		this.treasures = treasures.toArray(new Treasure[treasures.size()]);
+	}
+
+	/**
+	 * Returns the number of treasures in the level when it starts
+	 * @return the number of treasures in the level when it starts
+	 */
+	public int getNumTreasures()
+	{
+		return treasures.length;
+	}
+
+	/**
+	 * Returns one of the treasures in the level when it starts. They are
+	 * numbered the same way as the level's treasure index
+	 * @param treasure the index of the treasure
+	 * @return the treasure
+	 */
+	public Treasure getTreasure(int treasure)
+	{
+		return treasures[treasure];
+	}
+
+	/**
+	 * Returns the x coordinate the buoy starts at
+	 * @return the x coordinate the buoy starts at
+	 */
+	public int getBuoyStartX()
+	{
+		return buoyStartX;
+	}
+
+	/**
+	 * Returns the y coordinate the buoy starts at
+	 * @return the y coordinate the buoy starts at
+	 */
+	public int getBuoyStartY()
+	{
+		return buoyStartY;
+	}
+
+	/**
+	 * Returns the x coordinate the grill starts at
+	 * @return the x coordinate the grill starts at
+	 */
+	public int getGrillStartX()
+	{
+		return grillStartX;
+	}
+
+	/**
+	 * Returns the y coordinate the grill starts at
+	 * @return the y coordinate the grill starts at
+	 */
+	public int getGrillStartY()
+	{
+		return grillStartY;
+	}
+}
\ No newline at end of file
@@ -3,14 +3,16 @@ package TileMap;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
+import Main.Assets;
+import Main.Sprite;
+import Main.SpriteAtlas;
 
 /**
  * This class defines a set of obstacles to be used in the game as numbers while
  * maintaining an array of images that those numbers correspond to in the array.
  * A specific reference to an image can be obtained using the getImage method
  * @author Connor
- * @version 8
+ * @version 10
  */
 public final class Obstacles
 {
@@ -38,9 +40,10 @@ public final class Obstacles
 
 	// Images
 	private static BufferedImage[] obstacles;
+	private static Sprite[] sprites;
 
 	/**
-	 * Load the images
+	 * Load the images (from the assets, so they are only decoded once)
 	 * @throws IOException if the images could not be successfully loaded
 	 */
 	public static void load() throws IOException
@@ -48,40 +51,24 @@ public final class Obstacles
 		obstacles = new BufferedImage[16];
 		// load the obstacles
 		// buttons
-		obstacles[0] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/buttonBlueOff.png"));
-		obstacles[1] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/buttonBlueOn.png"));
-		obstacles[2] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/buttonGreenOff.png"));
-		obstacles[3] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/buttonGreenOn.png"));
-		obstacles[4] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/buttonRedOff.png"));
-		obstacles[5] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/buttonRedOn.png"));
+		obstacles[0] = Assets.getImage("/Obstacles/buttonBlueOff.png");
+		obstacles[1] = Assets.getImage("/Obstacles/buttonBlueOn.png");
+		obstacles[2] = Assets.getImage("/Obstacles/buttonGreenOff.png");
+		obstacles[3] = Assets.getImage("/Obstacles/buttonGreenOn.png");
+		obstacles[4] = Assets.getImage("/Obstacles/buttonRedOff.png");
+		obstacles[5] = Assets.getImage("/Obstacles/buttonRedOn.png");
 		// switches
-		obstacles[6] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserSwitchBlueOn.png"));
-		obstacles[7] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserSwitchBlueOff.png"));
-		obstacles[8] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserSwitchGreenOn.png"));
-		obstacles[9] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserSwitchGreenOff.png"));
-		obstacles[10] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserSwitchRedOn.png"));
-		obstacles[11] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserSwitchRedOff.png"));
+		obstacles[6] = Assets.getImage("/Obstacles/laserSwitchBlueOn.png");
+		obstacles[7] = Assets.getImage("/Obstacles/laserSwitchBlueOff.png");
+		obstacles[8] = Assets.getImage("/Obstacles/laserSwitchGreenOn.png");
+		obstacles[9] = Assets.getImage("/Obstacles/laserSwitchGreenOff.png");
+		obstacles[10] = Assets.getImage("/Obstacles/laserSwitchRedOn.png");
+		obstacles[11] = Assets.getImage("/Obstacles/laserSwitchRedOff.png");
 		// lasers
-		obstacles[12] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserBlueHorizontal.png"));
-		obstacles[13] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserGreenHorizontal.png"));
-		obstacles[14] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserRedHorizontal.png"));
-		obstacles[15] = ImageIO.read(Obstacles.class
-				.getResourceAsStream("/Obstacles/laserPurpleHorizontal.png"));
+		obstacles[12] = Assets.getImage("/Obstacles/laserBlueHorizontal.png");
+		obstacles[13] = Assets.getImage("/Obstacles/laserGreenHorizontal.png");
+		obstacles[14] = Assets.getImage("/Obstacles/laserRedHorizontal.png");
+		obstacles[15] = Assets.getImage("/Obstacles/laserPurpleHorizontal.png");
 	}
 
 	/**
@@ -99,4 +86,34 @@ public final class Obstacles
 			throw new IllegalArgumentException(
 					"type must be a defined Obstacles (0 - 15)");
 	}
+
+	/**
+	 * Adds the images to a sprite atlas so they can be drawn with a sprite
+	 * batch
+	 * @param atlas the atlas to add the images to
+	 */
+	static void addSprites(SpriteAtlas atlas)
+	{
+		sprites = new Sprite[obstacles.length];
+		for (int type = 0; type < sprites.length; type++)
+		{
+			sprites[type] = atlas.add(obstacles[type]);
+		}
+	}
+
+	/**
+	 * Return the sprite for the image desired
+	 * @param type the specified image to get
+	 * @throws IllegalArgumentException if the given type is less than 0 or
+	 *             greater than 15
+	 * @return the sprite for the image desired
+	 */
+	public static Sprite getSprite(int type)
+	{
+		if (type >= 0 && type <= 15)
+			return sprites[type];
+		else
+			throw new IllegalArgumentException(
+					"type must be a defined Obstacles (0 - 15)");
+	}
 }
\ No newline at end of file
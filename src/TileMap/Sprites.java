@@ -0,0 +1,45 @@
+package TileMap;
+
+import java.io.IOException;
+
+import Main.SpriteAtlas;
+
+/**
+ * Loads the obstacle, treasure and door images and packs them into one sprite
+ * atlas the first time a level needs them, so the whole map is drawn from one
+ * image
+ * @author Raya and Connor
+ * @version 1
+ */
+public final class Sprites
+{
+	// Width of the atlas
+	private static final int ATLAS_WIDTH = 256;
+
+	// If the atlas has been packed
+	private static boolean loaded;
+
+	/**
+	 * Loads the images and packs them into the atlas if it hasn't been done
+	 * yet
+	 * @throws IOException if the images could not be successfully loaded
+	 */
+	public static synchronized void load() throws IOException
+	{
+		if (loaded)
+		{
+			return;
+		}
+
+		Obstacles.load();
+		Treasures.load();
+		Doors.load();
+
+		SpriteAtlas atlas = new SpriteAtlas(ATLAS_WIDTH);
+		Obstacles.addSprites(atlas);
+		Treasures.addSprites(atlas);
+		Doors.addSprites(atlas);
+		atlas.pack();
+		loaded = true;
+	}
+}
\ No newline at end of file
@@ -1,26 +1,31 @@
 package TileMap;
 
-import java.awt.Graphics2D;
-import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import Main.DirtyRegions;
+import Main.SpriteBatch;
 
 /**
  * A switch is an object that can be turned on and off. It keeps track of its
  * position and its state(on, off). It can be checked to see if something is
  * flipping it and reacts accordingly (if someone is flipping it while it is
  * off, it can be turned on). It also keeps track of what type of switch it is
- * based on the types defined in the Obstacles class
+ * based on the types defined in the Obstacles class. The images are only
+ * looked up when it is drawn. The laser tells the level's laser index
+ * whenever it is turned on or off
  * @author Connor
- * @version 10
+ * @version 16
  */
 public class Switch
 {
 	// Coordinates
 	private int switchX, switchY, laserX, laserY;
 
-	// Images
-	private BufferedImage switchOn, switchOff;
-	private BufferedImage laserImage;
+	// Types (for the images)
+	private int switchType, laserType;
+
+	// Bits of the state (see getState)
+	public static final int SWITCH_ON = 1;
+	public static final int LASER_ON = 2;
+	public static final int CHANGED = 4;
 
 	// Checks
 	private boolean isSwitchOn;
@@ -30,10 +35,13 @@ public class Switch
 	private boolean changed;
 
 	// Collision
-	private Rectangle laser;
-	private Rectangle theSwitch;
+	private CollisionBox theSwitch;
 	private int laserSize;
 
+	// Place in the level's laser index
+	private LaserIndex lasers;
+	private int laserNumber;
+
 	private int switchPlayer;
 
 	private final int BUOY = -1;
@@ -58,17 +66,15 @@ public class Switch
 		this.laserX = laserX;
 		this.laserY = laserY;
 		this.laserSize = laserSize;
-		switchOn = Obstacles.getImage(switchType);
-		switchOff = Obstacles.getImage(switchType + 1);
-		laserImage = Obstacles.getImage(laserType);
+		this.switchType = switchType;
+		this.laserType = laserType;
 
-		// For drawing and checking collisions
+		// For drawing and checking collisions (see LaserIndex)
 		isSwitchOn = true;
 		laserOn = true;
 
 		// For collision
-		laser = new Rectangle(laserX, laserY, laserSize * 32, 8);
-		theSwitch = new Rectangle(switchX, switchY, 32, 32);
+		theSwitch = new CollisionBox(switchX, switchY, Tile.SIZE, Tile.SIZE);
 
 		// Figure out which player affects the switch
 		switchPlayer = findPlayer(switchType);
@@ -76,42 +82,58 @@ public class Switch
 		changed = false;
 	}
 
+	/**
+	 * Puts the switch back to how it was when it was made (on with the laser
+	 * on)
+	 */
+	public void reset()
+	{
+		isSwitchOn = true;
+		laserOn = true;
+		changed = false;
+		updateLaserIndex();
+	}
+
+	/**
+	 * Returns the state of the switch packed into an int so it can be saved
+	 * and put back later (see setState)
+	 * @return the state of the switch
+	 */
+	public int getState()
+	{
+		return (isSwitchOn ? SWITCH_ON : 0) | (laserOn ? LASER_ON : 0)
+				| (changed ? CHANGED : 0);
+	}
+
+	/**
+	 * Puts the switch back into a state returned by getState
+	 * @param state the state to put the switch in
+	 */
+	public void setState(int state)
+	{
+		isSwitchOn = (state & SWITCH_ON) != 0;
+		laserOn = (state & LASER_ON) != 0;
+		changed = (state & CHANGED) != 0;
+		updateLaserIndex();
+	}
+
 	/**
 	 * Draws the switch and lasers in their current states(on or off)
-	 * @param g the graphics to draw with
+	 * @param batch the sprite batch to draw with
 	 */
-	public void draw(Graphics2D g)
+	public void draw(SpriteBatch batch)
 	{
 		// Draw the switch in its respective state
 		if (isSwitchOn)
-			g.drawImage(switchOn, switchX, switchY, null);
+			batch.draw(Obstacles.getSprite(switchType), switchX, switchY);
 		else
-			g.drawImage(switchOff, switchX, switchY, null);
+			batch.draw(Obstacles.getSprite(switchType + 1), switchX, switchY);
 
 		// Draw the laser
 		if (laserOn)
 			for (int laser = 0; laser < laserSize; laser++)
-				g.drawImage(laserImage, laserX + (laser * 32), laserY, null);
-	}
-
-	/**
-	 * Finds out if the given x and y coordinates are within the bounds of the
-	 * laser
-	 * @param x the x value to check if it is inside the laser
-	 * @param y the x value to check if it is inside the laser
-	 * @return if the given x and y coordinates are within the bounds of the
-	 *         laser
-	 */
-	public boolean hasPlayerInLaser(int x, int y)
-	{
-		if (laserOn)
-		{
-			return laser.contains(x, y);
-		}
-		else
-		{
-			return false;
-		}
+				batch.draw(Obstacles.getSprite(laserType),
+						laserX + (laser * Tile.SIZE), laserY);
 	}
 
 	/**
@@ -122,9 +144,11 @@ public class Switch
 	 * @param by The buoys y coordinate
 	 * @param gx The grills x coordinate
 	 * @param gy The grills y coordinate
+	 * @return if the switch or laser looks different than before
 	 */
-	public void update(int bx, int by, int gx, int gy)
+	public boolean update(int bx, int by, int gx, int gy)
 	{
+		boolean wasSwitchOn = isSwitchOn, wasLaserOn = laserOn;
 		boolean switchContains = false;
 
 		// Find out if the switch has its player on it
@@ -174,6 +198,107 @@ public class Switch
 		{
 			laserOn = false;
 		}
+		updateLaserIndex();
+
+		return isSwitchOn != wasSwitchOn || laserOn != wasLaserOn;
+	}
+
+	/**
+	 * Returns if the given player can flip the switch
+	 * @param player the player (Player.BUOY or Player.GRILL)
+	 * @return if the player can flip the switch
+	 */
+	public boolean canBeFlippedBy(int player)
+	{
+		return switchPlayer == BOTH || switchPlayer == player;
+	}
+
+	/**
+	 * Returns the x coordinate of the switch
+	 * @return the x coordinate of the switch
+	 */
+	public int getX()
+	{
+		return switchX;
+	}
+
+	/**
+	 * Returns the y coordinate of the switch
+	 * @return the y coordinate of the switch
+	 */
+	public int getY()
+	{
+		return switchY;
+	}
+
+	/**
+	 * Returns the x coordinate of the laser
+	 * @return the x coordinate of the laser
+	 */
+	public int getLaserX()
+	{
+		return laserX;
+	}
+
+	/**
+	 * Returns the y coordinate of the laser
+	 * @return the y coordinate of the laser
+	 */
+	public int getLaserY()
+	{
+		return laserY;
+	}
+
+	/**
+	 * Returns how many tiles across the laser is
+	 * @return how many tiles across the laser is
+	 */
+	public int getLaserSize()
+	{
+		return laserSize;
+	}
+
+	/**
+	 * Returns the width of the laser in pixels
+	 * @return the width of the laser in pixels
+	 */
+	public int getLaserWidth()
+	{
+		return laserSize * Tile.SIZE;
+	}
+
+	/**
+	 * Gives the laser its place in the level's laser index
+	 * @param lasers the level's laser index
+	 * @param number the number of the laser in the index
+	 */
+	void setLaserIndex(LaserIndex lasers, int number)
+	{
+		this.lasers = lasers;
+		laserNumber = number;
+		updateLaserIndex();
+	}
+
+	/**
+	 * Tells the laser index if the laser is on
+	 */
+	private void updateLaserIndex()
+	{
+		if (lasers != null)
+		{
+			lasers.setOn(laserNumber, laserOn);
+		}
+	}
+
+	/**
+	 * Adds the areas the switch and its laser are drawn in to the given
+	 * regions
+	 * @param regions the regions to add to
+	 */
+	public void addBounds(DirtyRegions regions)
+	{
+		regions.add(switchX, switchY, Tile.SIZE, Tile.SIZE);
+		regions.add(laserX, laserY, laserSize * Tile.SIZE, Tile.SIZE);
 	}
 
 	/**
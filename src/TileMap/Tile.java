@@ -6,7 +6,7 @@ import java.awt.image.BufferedImage;
  * A tile is on space in the level that can be either empty, dirt/grass, a
  * treasure, a liquid or filled with an obstacle
  * @author Raya
- * @version 4
+ * @version 5
  */
 public class Tile
 {
@@ -16,6 +16,10 @@ public class Tile
 	// Type
 	private int type;
 
+	// Size of a tile in pixels (obstacles, doors and treasures are drawn on
+	// the same grid)
+	public static final int SIZE = 32;
+
 	// Tiles
 	public static final int NORMAL = 0;
 	public static final int BLOCKED = 1;
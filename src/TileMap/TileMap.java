@@ -1,30 +1,30 @@
 package TileMap;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
-import java.awt.Point;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
-import javax.imageio.ImageIO;
-
+import Main.Assets;
 import Main.GamePanel;
+import Main.SpriteBatch;
 
 /**
  * A tile map is an array of tiles used for drawing the level maps, treasures,
- * obstacles and doors and for collisions
+ * obstacles and doors and for collisions. The map, treasures, obstacles and
+ * doors can be used without loading any images (for example by a Simulation).
+ * The tiles only have to be loaded to draw the map
  * @author Raya and Connor
- * @version 12
+ * @version 21
  */
 public class TileMap
 {
 	// Position
 	private double x;
 	private double y;
-	private Point buoyStart;
-	private Point grillStart;
 
 	// Map
 	private int[][] map;
@@ -32,191 +32,340 @@ public class TileMap
 	private int numRows;
 	private int numColumns;
 
+	// The type of each tile in the tile set. The number of a tile in the level
+	// file is its row * TILES_ACROSS + its column
+	private static final int TILES_ACROSS = 10;
+	private static final int[][] TILE_TYPES = {
+			// Empty and liquids
+			{ Tile.NORMAL, Tile.LAVA, Tile.WATER, Tile.ACID },
+			// Blocked
+			{ Tile.BLOCKED, Tile.BLOCKED, Tile.BLOCKED, Tile.BLOCKED,
+					Tile.BLOCKED, Tile.BLOCKED, Tile.BLOCKED, Tile.BLOCKED,
+					Tile.BLOCKED, Tile.BLOCKED },
+			// Treasures
+			{ Tile.GEM, Tile.GEM, Tile.NORMAL, Tile.COIN, Tile.COIN, Tile.COIN } };
+
 	// Tile Set
 	private BufferedImage tileset;
 	private int tilesAcross;
 	private Tile[][] tiles;
 
-	// Coins and diamonds
-	public static ArrayList<Treasure> treasures;
+	// All of the tiles drawn onto one image since they never change
+	private BufferedImage tileLayer;
+
+	// Treasures, obstacles and doors drawn each frame
+	private final SpriteBatch batch = new SpriteBatch();
+
+	// The type of every tile for collisions
+	private CollisionMap collisionMap;
+
+	// Coins and diamonds by the tiles they are in
+	private TreasureIndex treasures;
 
 	// Obstacles
-	public static ArrayList<Switch> switches;
-	public static ArrayList<Button> buttons;
-	private int noObstacles;
-	public static Door redDoor, blueDoor;
+	private ArrayList<Switch> switches;
+	private ArrayList<Button> buttons;
+	private Door redDoor, blueDoor;
+
+	// Lasers of the switches and buttons by the rows they are in
+	private LaserIndex lasers;
+
+	// How the level looks when it starts
+	private LevelSnapshot snapshot;
 
 	/**
-	 * Initialize the tileSize and treasures array and load the obstacle,
-	 * treasure and door images
-	 * @param tileSize
-	 * @throws IOException
+	 * Initialize the tileSize. The obstacle, treasure and
+	 * door images have to be loaded (see Obstacles, Treasures and Doors)
+	 * before the map can be drawn
+	 * @param tileSize The size of a tile in pixels
 	 */
-	public TileMap(int tileSize) throws IOException
+	public TileMap(int tileSize)
 	{
 		this.tileSize = tileSize;
-		treasures = new ArrayList<Treasure>();
-		Obstacles.load();
-		Treasures.load();
-		Doors.load();
 	}
 
 	/**
-	 * Loads the tileset and gets the subimages from the tileset for each tile
+	 * Loads the tileset and copies the image for each tile out of it
 	 * @param tileSetFile The file name of the tileset being used
 	 * @throws IOException if the tileset image can not be found
 	 */
 	public void loadTiles(String tileSetFile) throws IOException
 	{
-		tileset = ImageIO.read(getClass().getResourceAsStream(tileSetFile));
+		tileset = Assets.getImage(tileSetFile);
 		tilesAcross = tileset.getWidth() / tileSize;
 		tiles = new Tile[3][tilesAcross];
 
 		// Empty
-		tiles[0][0] = new Tile(tileset.getSubimage(0, 0, 32, 32), Tile.NORMAL);
+		tiles[0][0] = new Tile(tile(0, 0), TILE_TYPES[0][0]);
 
 		// Liquid
-		tiles[0][1] = new Tile(tileset.getSubimage(32, 0, 32, 32), Tile.LAVA);
-		tiles[0][2] = new Tile(tileset.getSubimage(64, 0, 32, 32), Tile.WATER);
-		tiles[0][3] = new Tile(tileset.getSubimage(96, 0, 32, 32), Tile.ACID);
+		tiles[0][1] = new Tile(tile(32, 0), TILE_TYPES[0][1]);
+		tiles[0][2] = new Tile(tile(64, 0), TILE_TYPES[0][2]);
+		tiles[0][3] = new Tile(tile(96, 0), TILE_TYPES[0][3]);
 
 		// Blocked
-		tiles[1][0] = new Tile(tileset.getSubimage(0, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][1] = new Tile(tileset.getSubimage(32, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][2] = new Tile(tileset.getSubimage(64, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][3] = new Tile(tileset.getSubimage(96, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][4] = new Tile(tileset.getSubimage(128, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][5] = new Tile(tileset.getSubimage(160, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][6] = new Tile(tileset.getSubimage(192, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][7] = new Tile(tileset.getSubimage(224, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][8] = new Tile(tileset.getSubimage(256, 32, 32, 32), Tile.BLOCKED);
-		tiles[1][9] = new Tile(tileset.getSubimage(288, 32, 32, 32), Tile.BLOCKED);
+		tiles[1][0] = new Tile(tile(0, 32), TILE_TYPES[1][0]);
+		tiles[1][1] = new Tile(tile(32, 32), TILE_TYPES[1][1]);
+		tiles[1][2] = new Tile(tile(64, 32), TILE_TYPES[1][2]);
+		tiles[1][3] = new Tile(tile(96, 32), TILE_TYPES[1][3]);
+		tiles[1][4] = new Tile(tile(128, 32), TILE_TYPES[1][4]);
+		tiles[1][5] = new Tile(tile(160, 32), TILE_TYPES[1][5]);
+		tiles[1][6] = new Tile(tile(192, 32), TILE_TYPES[1][6]);
+		tiles[1][7] = new Tile(tile(224, 32), TILE_TYPES[1][7]);
+		tiles[1][8] = new Tile(tile(256, 32), TILE_TYPES[1][8]);
+		tiles[1][9] = new Tile(tile(288, 32), TILE_TYPES[1][9]);
 
 		// Treasures
-		tiles[2][0] = new Tile(tileset.getSubimage(0, 64, 32, 32), Tile.GEM);
-		tiles[2][1] = new Tile(tileset.getSubimage(32, 64, 32, 32), Tile.GEM);
-		tiles[2][3] = new Tile(tileset.getSubimage(64, 64, 32, 32), Tile.COIN);
-		tiles[2][4] = new Tile(tileset.getSubimage(96, 64, 32, 32), Tile.COIN);
-		tiles[2][5] = new Tile(tileset.getSubimage(128, 64, 32, 32), Tile.COIN);
+		tiles[2][0] = new Tile(tile(0, 64), TILE_TYPES[2][0]);
+		tiles[2][1] = new Tile(tile(32, 64), TILE_TYPES[2][1]);
+		tiles[2][3] = new Tile(tile(64, 64), TILE_TYPES[2][3]);
+		tiles[2][4] = new Tile(tile(96, 64), TILE_TYPES[2][4]);
+		tiles[2][5] = new Tile(tile(128, 64), TILE_TYPES[2][5]);
+
+		// The tiles changed so the map has to be drawn again
+		bakeTiles();
+	}
+
+	/**
+	 * Returns a copy of one tile of the tileset. Tiles are copies instead of
+	 * subimages so each one can be kept in video memory
+	 * @param x the x coordinate of the tile in the tileset
+	 * @param y the y coordinate of the tile in the tileset
+	 * @return the tile's image
+	 */
+	private BufferedImage tile(int x, int y)
+	{
+		return Assets.copy(tileset, x, y, tileSize, tileSize);
 	}
 
 	/**
-	 * Reads the level file, gets the number of rows and columns of the level
-	 * and fills in the map with the tile images that correspond to the numbers
-	 * in the level file
-	 * @param levelFileName The name of the level file
-	 * @throws NumberFormatException if parseInt() doesn't find an integer
-	 * @throws IOException if the level file can not be found
+	 * Gets the number of rows and columns of the level, fills in the map with
+	 * the tile numbers and creates the treasures, doors and obstacles from a
+	 * compiled level
+	 * @param level The compiled level, read from its current position
+	 * @throws IOException if the level is not a compiled level of the right
+	 *             version
 	 */
-	public void loadMap(String levelFileName) throws NumberFormatException,
-			IOException
+	public void loadMap(ByteBuffer level) throws IOException
 	{
-		// Load level file
-		BufferedReader read = new BufferedReader(new InputStreamReader(
-				getClass().getResourceAsStream(levelFileName)));
+		if (level.getInt() != LevelFormat.MAGIC)
+		{
+			throw new IOException("Not a compiled level");
+		}
+		if (level.getShort() != LevelFormat.VERSION)
+		{
+			throw new IOException("Compiled level is the wrong version");
+		}
 
 		// Get number of rows and columns
-		numColumns = Integer.parseInt(read.readLine());
-		numRows = Integer.parseInt(read.readLine());
+		numColumns = level.getShort();
+		numRows = level.getShort();
 
 		// load the map
 		map = new int[numRows][numColumns];
-
-		String delims = "\\s+";
 		for (int row = 0; row < numRows; row++)
 		{
-			String line = read.readLine();
-			String[] tokens = line.split(delims);
 			for (int column = 0; column < numColumns; column++)
 			{
-				int tileType = Integer.parseInt(tokens[column]);
-
-				// Tile types under 100 are regular tiles like blocked tiles,
-				// liquids, etc.
-				if (tileType < 100)
-				{
-					map[row][column] = tileType;
-				}
-
-				// Tile types between 100 and 200 are buoy and grill start
-				// points
-				else if (tileType < 200)
-				{
-					if (tileType == 100)
-					{
-						buoyStart = new Point(column * tileSize, row * tileSize);
-						map[row][column] = 0;
-					}
-					else
-					{
-						grillStart = new Point(column * tileSize, row
-								* tileSize);
-						map[row][column] = 0;
-					}
-				}
-
-				// Tile types between 200 and 300 are treasures
-				else if (tileType < 300)
-				{
-					map[row][column] = 0;
-					treasures.add(new Treasure(tileType - 200, column
-							* tileSize, row * tileSize));
-				}
-
-				// Tile types between 300 and 400 are doors
-				else if (tileType < 400)
-				{
-					if (tileType == 300)
-					{
-						map[row][column] = 0;
-						redDoor = new Door(column * tileSize, row * tileSize,
-								Doors.RED);
-					}
-					else
-					{
-						map[row][column] = 0;
-						blueDoor = new Door(column * tileSize, row * tileSize,
-								Doors.BLUE);
-					}
-				}
+				map[row][column] = level.get();
 			}
 		}
+
+		// Buoy and grill start points
+		int buoyStartX = level.getShort() * tileSize;
+		int buoyStartY = level.getShort() * tileSize;
+		int grillStartX = level.getShort() * tileSize;
+		int grillStartY = level.getShort() * tileSize;
+
+		// Doors
+		redDoor = new Door(level.getShort() * tileSize, level.getShort()
+				* tileSize, Doors.RED);
+		blueDoor = new Door(level.getShort() * tileSize, level.getShort()
+				* tileSize, Doors.BLUE);
+
+		// Treasures
+		int numTreasures = level.getShort();
+		ArrayList<Treasure> startTreasures = new ArrayList<Treasure>(
+				numTreasures);
+		for (int treasure = 0; treasure < numTreasures; treasure++)
+		{
+			startTreasures.add(new Treasure(level.get(), level.getShort()
+					* tileSize, level.getShort() * tileSize));
+		}
+		treasures = new TreasureIndex(startTreasures, numRows, numColumns,
+				tileSize);
+
 		// Create the obstacles where they are needed
-		noObstacles = Integer.parseInt(read.readLine());
-		switches = new ArrayList<Switch>();
-		buttons = new ArrayList<Button>();
-		for (int obstacle = 0; obstacle < noObstacles; obstacle++)
+		int numSwitches = level.getShort();
+		switches = new ArrayList<Switch>(numSwitches);
+		for (int theSwitch = 0; theSwitch < numSwitches; theSwitch++)
+		{
+			switches.add(new Switch(level.get(), level.get(), level.get(),
+					level.getShort() * tileSize, level.getShort() * tileSize,
+					level.getShort() * tileSize, level.getShort() * tileSize));
+		}
+		int numButtons = level.getShort();
+		buttons = new ArrayList<Button>(numButtons);
+		for (int theButton = 0; theButton < numButtons; theButton++)
+		{
+			buttons.add(new Button(level.get(), level.get(), level.get(),
+					level.get(), level.getShort() * tileSize, level.getShort()
+							* tileSize, level.getShort() * tileSize,
+					level.getShort() * tileSize, level.getShort() * tileSize,
+					level.getShort() * tileSize));
+		}
+
+		lasers = new LaserIndex(switches, buttons, numRows, tileSize);
+
+		snapshot = new LevelSnapshot(buoyStartX, buoyStartY, grillStartX,
+				grillStartY, startTreasures);
+		bakeTiles();
+		findTypes();
+	}
+
+	/**
+	 * Makes the collision map by finding the type of every tile in the map
+	 */
+	private void findTypes()
+	{
+		collisionMap = new CollisionMap(numRows, numColumns);
+		for (int row = 0; row < numRows; row++)
 		{
-			String line = read.readLine();
-			String[] paramaters = line.split(delims);
-			if (paramaters[0].equalsIgnoreCase("Switch"))
+			for (int column = 0; column < numColumns; column++)
 			{
-				// Parameters in comments in all .lvl files
-				switches.add(new Switch(
-						Integer.parseInt(paramaters[1]),
-						Integer.parseInt(paramaters[2]),
-						Integer.parseInt(paramaters[3]),
-						Integer.parseInt(paramaters[4]) * tileSize,
-						Integer.parseInt(paramaters[5]) * tileSize,
-						Integer.parseInt(paramaters[6]) * tileSize,
-						Integer.parseInt(paramaters[7]) * tileSize));
+				int tileLocation = map[row][column];
+				int tileRow = tileLocation / TILES_ACROSS;
+				int tileColumn = tileLocation % TILES_ACROSS;
+				collisionMap.setType(row, column,
+						TILE_TYPES[tileRow][tileColumn]);
 			}
-			else if (paramaters[0].equalsIgnoreCase("Button"))
+		}
+	}
+
+	/**
+	 * Puts the treasures, obstacles and doors back the way they were when the
+	 * level was loaded without reading the level file again
+	 */
+	public void reset()
+	{
+		treasures.reset();
+		for (int theSwitch = 0; theSwitch < switches.size(); theSwitch++)
+		{
+			switches.get(theSwitch).reset();
+		}
+		for (int theButton = 0; theButton < buttons.size(); theButton++)
+		{
+			buttons.get(theButton).reset();
+		}
+		redDoor.reset();
+		blueDoor.reset();
+	}
+
+	/**
+	 * Returns the coins and diamonds by the tiles they are in along with
+	 * which of them haven't been taken
+	 * @return the level's treasure index
+	 */
+	public TreasureIndex getTreasures()
+	{
+		return treasures;
+	}
+
+	/**
+	 * Returns the switches
+	 * @return the switches
+	 */
+	public ArrayList<Switch> getSwitches()
+	{
+		return switches;
+	}
+
+	/**
+	 * Returns the buttons
+	 * @return the buttons
+	 */
+	public ArrayList<Button> getButtons()
+	{
+		return buttons;
+	}
+
+	/**
+	 * Returns the lasers of the switches and buttons by the rows they are in
+	 * @return the level's laser index
+	 */
+	public LaserIndex getLasers()
+	{
+		return lasers;
+	}
+
+	/**
+	 * Returns the door the grill exits through
+	 * @return the door the grill exits through
+	 */
+	public Door getRedDoor()
+	{
+		return redDoor;
+	}
+
+	/**
+	 * Returns the door the buoy exits through
+	 * @return the door the buoy exits through
+	 */
+	public Door getBlueDoor()
+	{
+		return blueDoor;
+	}
+
+	/**
+	 * Returns how the level looked when it was loaded
+	 * @return how the level looked when it was loaded
+	 */
+	public LevelSnapshot getSnapshot()
+	{
+		return snapshot;
+	}
+
+	/**
+	 * Draws every tile in the map onto one image so the whole map can be drawn
+	 * with a single call each frame. Does nothing until both the tiles and the
+	 * map have been loaded
+	 */
+	private void bakeTiles()
+	{
+		if (tiles == null || map == null)
+		{
+			return;
+		}
+
+		int width = numColumns * tileSize;
+		int height = numRows * tileSize;
+		if (tileLayer == null || tileLayer.getWidth() != width
+				|| tileLayer.getHeight() != height)
+		{
+			// Use an image in the same format as the screen so it can be drawn
+			// quickly
+			tileLayer = Assets.createImage(width, height,
+					Transparency.TRANSLUCENT);
+		}
+
+		Graphics2D g = tileLayer.createGraphics();
+		// Clear what was baked for the last map
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, width, height);
+		g.setComposite(AlphaComposite.SrcOver);
+		for (int row = 0; row < numRows; row++)
+		{
+			for (int column = 0; column < numColumns; column++)
 			{
-				// Parameters in comments in all .lvl files
-				buttons.add(new Button(
-						Integer.parseInt(paramaters[1]),
-						Integer.parseInt(paramaters[2]),
-						Integer.parseInt(paramaters[3]),
-						Integer.parseInt(paramaters[4]),
-						Integer.parseInt(paramaters[5]) * tileSize,
-						Integer.parseInt(paramaters[6]) * tileSize,
-						Integer.parseInt(paramaters[7]) * tileSize,
-						Integer.parseInt(paramaters[8]) * tileSize,
-						Integer.parseInt(paramaters[9]) * tileSize,
-						Integer.parseInt(paramaters[10]) * tileSize));
+				int tileLocation = map[row][column];
+				int tileRow = tileLocation / tilesAcross;
+				int tileColumn = tileLocation % tilesAcross;
+
+				g.drawImage(tiles[tileRow][tileColumn].getImage(), column
+						* tileSize, row * tileSize, null);
 			}
 		}
+		g.dispose();
 	}
 
 	/**
@@ -228,6 +377,24 @@ public class TileMap
 		return tileSize;
 	}
 
+	/**
+	 * Returns the number of rows in the map
+	 * @return the number of rows in the map
+	 */
+	public int getNumRows()
+	{
+		return numRows;
+	}
+
+	/**
+	 * Returns the number of columns in the map
+	 * @return the number of columns in the map
+	 */
+	public int getNumColumns()
+	{
+		return numColumns;
+	}
+
 	/**
 	 * Returns the x position of the tile
 	 * @return the x position of the tile
@@ -247,25 +414,15 @@ public class TileMap
 	}
 
 	/**
-	 * Returns the type of tile
+	 * Returns the type of tile. Tiles outside of the map where a player can be
+	 * are blocked (see CollisionMap)
 	 * @param row The row of the tile
 	 * @param column The column of the tile
 	 * @return the type of tile
 	 */
 	public int getType(int row, int column)
 	{
-		try
-		{
-			int tileLocation = map[row][column];
-			int tileRow = tileLocation / tilesAcross;
-			int tileColumn = tileLocation % tilesAcross;
-			return tiles[tileRow][tileColumn].getType();
-		}
-		// Makes all tiles outside of the map blocked
-		catch (IndexOutOfBoundsException e)
-		{
-			return Tile.BLOCKED;
-		}
+		return collisionMap.getType(row, column);
 	}
 
 	/**
@@ -311,62 +468,40 @@ public class TileMap
 	}
 
 	/**
-	 * Returns the buoys starting location
-	 * @return the buoys starting location
-	 */
-	public Point getBuoyStart()
-	{
-		return buoyStart;
-	}
-
-	/**
-	 * Returns the grills starting location
-	 * @return the grills starting location
-	 */
-	public Point getGrillStart()
-	{
-		return grillStart;
-	}
-
-	/**
-	 * Draws all of the tiles in the correct locations on the map
+	 * Draws all of the tiles in the correct locations on the map then the
+	 * treasures, obstacles and doors on top of them. The treasures, obstacles
+	 * and doors are collected in a sprite batch and drawn together from the
+	 * sprite atlas (see Sprites)
 	 * @param g The graphics used for drawing
 	 */
 	public void draw(Graphics2D g)
 	{
-		for (int row = 0; row < numRows; row++)
-		{
-			for (int column = 0; column < numColumns; column++)
-			{
-				int tileLocation = map[row][column];
-				int tileRow = tileLocation / tilesAcross;
-				int tileColumn = tileLocation % tilesAcross;
-
-				// Draw regular tiles
-				g.drawImage(tiles[tileRow][tileColumn].getImage(),
-						(int) x + column * tileSize, (int) y + row * tileSize,
-						null);
-			}
-		}
+		// Draw regular tiles
+		g.drawImage(tileLayer, (int) x, (int) y, null);
 
 		// Draw the treasures
 		for (int treasure = 0; treasure < treasures.size(); treasure++)
 		{
-			treasures.get(treasure).draw(g);
+			if (treasures.isLeft(treasure))
+			{
+				treasures.get(treasure).draw(batch);
+			}
 		}
 
 		// Draw the obstacles
 		for (int theSwitch = 0; theSwitch < switches.size(); theSwitch++)
 		{
-			switches.get(theSwitch).draw(g);
+			switches.get(theSwitch).draw(batch);
 		}
 		for (int theButton = 0; theButton < buttons.size(); theButton++)
 		{
-			buttons.get(theButton).draw(g);
+			buttons.get(theButton).draw(batch);
 		}
 
 		// Draw the doors
-		redDoor.draw(g);
-		blueDoor.draw(g);
+		redDoor.draw(batch);
+		blueDoor.draw(batch);
+
+		batch.flush(g);
 	}
 }
\ No newline at end of file
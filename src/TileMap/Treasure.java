@@ -1,19 +1,21 @@
 package TileMap;
 
-import java.awt.Graphics2D;
-import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
+import Main.DirtyRegions;
+import Main.SpriteBatch;
 
 /**
  * A treasure is a coin or diamond which grants the player points when picking
  * them up. Once picked up, a treasure disappears from the map. A treasure can
- * be defined from the Treasures class
+ * be defined from the Treasures class. The image is only looked up when it is
+ * drawn. Each treasure has a number that the level's treasure index gives it
+ * when the level is loaded
  * @author Connor
- * @version 6
+ * @version 10
  */
 public class Treasure
 {
+	// Size of every treasure (one tile)
+	static final int SIZE = Tile.SIZE;
 
 	// Coordinates
 	private int x, y;
@@ -24,11 +26,11 @@ public class Treasure
 	// Amount of points
 	private int points;
 
-	// Image
-	private BufferedImage treasureImage;
-
 	// Collision box
-	private Rectangle treasure;
+	private CollisionBox treasure;
+
+	// Place in the level's treasure index
+	private int number;
 
 	/**
 	 * Creates a new treasure object of the specified type at the given x and y
@@ -36,16 +38,13 @@ public class Treasure
 	 * @param type the type of treasure as defined by the Treasures class
 	 * @param x the x coordinate of this treasure
 	 * @param y the y coordinate of this treasure
-	 * @throws IOException if the image could not be successfully passed from
-	 *             the Treasures class
 	 */
-	public Treasure(int type, int x, int y) throws IOException
+	public Treasure(int type, int x, int y)
 	{
 		this.type = type;
 		this.x = x;
 		this.y = y;
-		treasure = new Rectangle(x, y, 32, 32);
-		treasureImage = Treasures.getImage(type);
+		treasure = new CollisionBox(x, y, SIZE, SIZE);
 		points = Treasures.findPoints(type);
 	}
 
@@ -64,12 +63,12 @@ public class Treasure
 	}
 
 	/**
-	 * Called when the player takes this treasure
+	 * Called when the player takes this treasure. Whoever is keeping track of
+	 * the treasures in the level has to take it out of the treasure index
 	 * @return the number of points this treasure is worth
 	 */
 	public int take()
 	{
-		TileMap.treasures.remove(this);
 		return points;
 	}
 
@@ -82,6 +81,42 @@ public class Treasure
 		return type;
 	}
 
+	/**
+	 * Returns the x coordinate of this treasure
+	 * @return the x coordinate of this treasure
+	 */
+	int getX()
+	{
+		return x;
+	}
+
+	/**
+	 * Returns the y coordinate of this treasure
+	 * @return the y coordinate of this treasure
+	 */
+	int getY()
+	{
+		return y;
+	}
+
+	/**
+	 * Returns the number the treasure index gave this treasure
+	 * @return the number of this treasure in its level
+	 */
+	int getNumber()
+	{
+		return number;
+	}
+
+	/**
+	 * Sets the number of this treasure in its level's treasure index
+	 * @param number the number of this treasure in its level
+	 */
+	void setNumber(int number)
+	{
+		this.number = number;
+	}
+
 	/**
 	 * Returns if this treasure is a diamond or not
 	 * @return if this treasure is a diamond or not
@@ -94,13 +129,22 @@ public class Treasure
 			return false;
 	}
 
+	/**
+	 * Adds the area the treasure is drawn in to the given regions
+	 * @param regions the regions to add to
+	 */
+	public void addBounds(DirtyRegions regions)
+	{
+		regions.add(x, y, SIZE, SIZE);
+	}
+
 	/**
 	 * Draws the treasure at its x and y coordinates
-	 * @param g the graphics to draw with
+	 * @param batch the sprite batch to draw with
 	 */
-	public void draw(Graphics2D g)
+	public void draw(SpriteBatch batch)
 	{
-		g.drawImage(treasureImage, x, y, null);
+		batch.draw(Treasures.getSprite(type), x, y);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package TileMap;
+
+import java.util.ArrayList;
+
+/**
+ * The treasure index keeps the coins and diamonds of a level by the tiles
+ * they cover, so checking what a player touches only looks at the treasures
+ * in the player's tile instead of every treasure in the level. Treasures never
+ * move, so the tiles are worked out once when the level is loaded and kept in
+ * one array (the treasures of each tile are next to each other). Taking a
+ * treasure only marks it as taken and resetting the level clears the marks,
+ * so neither moves anything around. Treasures are numbered in the order they
+ * are in the level file (the same order as the level's snapshot)
+ * @author Raya and Connor
+ * @version 2
+ */
+public class TreasureIndex
+{
+	// Treasures and which of them are still in the level
+	private final Treasure[] treasures;
+	private final boolean[] left;
+	private int numLeft;
+
+	// Grid of tiles
+	private final int tileSize, numRows, numColumns;
+
+	// Where each tile's treasures start in entries (the tile after the last
+	// one is always empty and is used for points outside of the map)
+	private final int[] cellStarts;
+	private final int[] entries;
+
+	/**
+	 * Indexes the treasures of a level
+	 * @param treasures the treasures in the level when it starts
+	 * @param numRows the number of rows of tiles in the level
+	 * @param numColumns the number of columns of tiles in the level
+	 * @param tileSize the size of the tiles
+	 */
+	TreasureIndex(ArrayList<Treasure> treasures, int numRows, int numColumns,
+			int tileSize)
+	{
+		this.treasures = treasures.toArray(new Treasure[treasures.size()]);
+		left = new boolean[this.treasures.length];
+		this.tileSize = tileSize;
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+
+		// Count the treasures in each tile then give each tile its place
+		int numCells = numRows * numColumns;
+		cellStarts = new int[numCells + 2];
+		for (int treasure = 0; treasure < this.treasures.length; treasure++)
+		{
+			Treasure theTreasure = this.treasures[treasure];
+			theTreasure.setNumber(treasure);
+			int firstRow = firstRow(theTreasure);
+			int lastRow = lastRow(theTreasure);
+			int firstColumn = firstColumn(theTreasure);
+			int lastColumn = lastColumn(theTreasure);
+			for (int row = firstRow; row <= lastRow; row++)
+			{
+				for (int column = firstColumn; column <= lastColumn; column++)
+				{
+					cellStarts[row * numColumns + column + 1]++;
+				}
+			}
+		}
+		for (int cell = 0; cell <= numCells; cell++)
+		{
+			cellStarts[cell + 1] += cellStarts[cell];
+		}
+
+		int[] next = new int[numCells];
+		System.arraycopy(cellStarts, 0, next, 0, numCells);
+		entries = new int[cellStarts[numCells]];
+		for (int treasure = 0; treasure < this.treasures.length; treasure++)
+		{
+			Treasure theTreasure = this.treasures[treasure];
+			int firstRow = firstRow(theTreasure);
+			int lastRow = lastRow(theTreasure);
+			int firstColumn = firstColumn(theTreasure);
+			int lastColumn = lastColumn(theTreasure);
+			for (int row = firstRow; row <= lastRow; row++)
+			{
+				for (int column = firstColumn; column <= lastColumn; column++)
+				{
+					entries[next[row * numColumns + column]++] = treasure;
+				}
+			}
+		}
+
+		reset();
+	}
+
+	/**
+	 * Puts every treasure back into the level
+	 */
+	public void reset()
+	{
+		for (int treasure = 0; treasure < left.length; treasure++)
+		{
+			left[treasure] = true;
+		}
+		numLeft = left.length;
+	}
+
+	/**
+	 * Takes a treasure out of the level
+	 * @param treasure the treasure to take
+	 */
+	public void take(Treasure treasure)
+	{
+		setLeft(treasure.getNumber(), false);
+	}
+
+	/**
+	 * Returns the number of treasures in the level when it starts
+	 * @return the number of treasures in the level when it starts
+	 */
+	public int size()
+	{
+		return treasures.length;
+	}
+
+	/**
+	 * Returns the number of treasures that haven't been taken
+	 * @return the number of treasures that haven't been taken
+	 */
+	public int getNumLeft()
+	{
+		return numLeft;
+	}
+
+	/**
+	 * Returns one of the treasures, taken or not
+	 * @param treasure the number of the treasure
+	 * @return the treasure
+	 */
+	public Treasure get(int treasure)
+	{
+		return treasures[treasure];
+	}
+
+	/**
+	 * Returns if a treasure hasn't been taken
+	 * @param treasure the number of the treasure
+	 * @return if the treasure hasn't been taken
+	 */
+	public boolean isLeft(int treasure)
+	{
+		return left[treasure];
+	}
+
+	/**
+	 * Puts a treasure back into the level or takes it out
+	 * @param treasure the number of the treasure
+	 * @param isLeft if the treasure is in the level
+	 */
+	public void setLeft(int treasure, boolean isLeft)
+	{
+		if (left[treasure] != isLeft)
+		{
+			left[treasure] = isLeft;
+			numLeft += isLeft ? 1 : -1;
+		}
+	}
+
+	/**
+	 * Returns the tile a point is in. Points outside of the map are in a tile
+	 * with no treasures
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return the tile the point is in
+	 */
+	public int getCell(int x, int y)
+	{
+		if (x < 0 || y < 0)
+		{
+			return numRows * numColumns;
+		}
+		int row = y / tileSize;
+		int column = x / tileSize;
+		if (row >= numRows || column >= numColumns)
+		{
+			return numRows * numColumns;
+		}
+		return row * numColumns + column;
+	}
+
+	/**
+	 * Returns the first of a tile's entries
+	 * @param cell the tile (from getCell)
+	 * @return the first of the tile's entries
+	 */
+	public int getFirst(int cell)
+	{
+		return cellStarts[cell];
+	}
+
+	/**
+	 * Returns the entry after the last of a tile's entries
+	 * @param cell the tile (from getCell)
+	 * @return the entry after the last of the tile's entries
+	 */
+	public int getEnd(int cell)
+	{
+		return cellStarts[cell + 1];
+	}
+
+	/**
+	 * Returns the treasure in an entry if it hasn't been taken
+	 * @param entry the entry (from getFirst to getEnd of a tile)
+	 * @return the treasure or null if it has been taken
+	 */
+	public Treasure getEntry(int entry)
+	{
+		int treasure = entries[entry];
+		return left[treasure] ? treasures[treasure] : null;
+	}
+
+	/**
+	 * Returns the first row of tiles a treasure covers
+	 * @param treasure the treasure
+	 * @return the first row the treasure covers
+	 */
+	private int firstRow(Treasure treasure)
+	{
+		return Math.max(0, treasure.getY() / tileSize);
+	}
+
+	/**
+	 * Returns the last row of tiles a treasure covers
+	 * @param treasure the treasure
+	 * @return the last row the treasure covers
+	 */
+	private int lastRow(Treasure treasure)
+	{
+		return Math.min(numRows - 1, (treasure.getY() + Treasure.SIZE - 1)
+				/ tileSize);
+	}
+
+	/**
+	 * Returns the first column of tiles a treasure covers
+	 * @param treasure the treasure
+	 * @return the first column the treasure covers
+	 */
+	private int firstColumn(Treasure treasure)
+	{
+		return Math.max(0, treasure.getX() / tileSize);
+	}
+
+	/**
+	 * Returns the last column of tiles a treasure covers
+	 * @param treasure the treasure
+	 * @return the last column the treasure covers
+	 */
+	private int lastColumn(Treasure treasure)
+	{
+		return Math.min(numColumns - 1, (treasure.getX() + Treasure.SIZE - 1)
+				/ tileSize);
+	}
+}
\ No newline at end of file
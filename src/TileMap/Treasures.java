@@ -3,14 +3,16 @@ package TileMap;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
+import Main.Assets;
+import Main.Sprite;
+import Main.SpriteAtlas;
 
 /**
  * This class defines a set of treasures to be used in the game as numbers while
  * maintaining an array of images that those numbers correspond to in the array.
  * A specific reference to an image can be obtained using the getImage method
  * @author Connor
- * @version 5
+ * @version 7
  */
 public final class Treasures
 {
@@ -25,25 +27,21 @@ public final class Treasures
 
 	// Images
 	public static BufferedImage[] treasures;
+	private static Sprite[] sprites;
 
 	/**
-	 * Load the images
+	 * Load the images (from the assets, so they are only decoded once)
 	 * @throws IOException if the images could not be successfully loaded
 	 */
 	public static void load() throws IOException
 	{
 		treasures = new BufferedImage[5];
 
-		treasures[0] = ImageIO.read(Treasures.class
-				.getResourceAsStream("/Items/coinBronze.png"));
-		treasures[1] = ImageIO.read(Treasures.class
-				.getResourceAsStream("/Items/coinSilver.png"));
-		treasures[2] = ImageIO.read(Treasures.class
-				.getResourceAsStream("/Items/coinGold.png"));
-		treasures[3] = ImageIO.read(Treasures.class
-				.getResourceAsStream("/Items/gemRed.png"));
-		treasures[4] = ImageIO.read(Treasures.class
-				.getResourceAsStream("/Items/gemBlue.png"));
+		treasures[0] = Assets.getImage("/Items/coinBronze.png");
+		treasures[1] = Assets.getImage("/Items/coinSilver.png");
+		treasures[2] = Assets.getImage("/Items/coinGold.png");
+		treasures[3] = Assets.getImage("/Items/gemRed.png");
+		treasures[4] = Assets.getImage("/Items/gemBlue.png");
 	}
 
 	/**
@@ -96,4 +94,34 @@ public final class Treasures
 			throw new IllegalArgumentException(
 					"type must be a defined Treasures (0 - 4)");
 	}
+
+	/**
+	 * Adds the images to a sprite atlas so they can be drawn with a sprite
+	 * batch
+	 * @param atlas the atlas to add the images to
+	 */
+	static void addSprites(SpriteAtlas atlas)
+	{
+		sprites = new Sprite[treasures.length];
+		for (int type = 0; type < sprites.length; type++)
+		{
+			sprites[type] = atlas.add(treasures[type]);
+		}
+	}
+
+	/**
+	 * Return the sprite for the image desired
+	 * @param type the specified image to get
+	 * @throws IllegalArgumentException if the given type is less than 0 or
+	 *             greater than 4
+	 * @return the sprite for the image desired
+	 */
+	public static Sprite getSprite(int type)
+	{
+		if (type >= 0 && type <= 4)
+			return sprites[type];
+		else
+			throw new IllegalArgumentException(
+					"type must be a defined Treasures (0 - 4)");
+	}
 }
\ No newline at end of file